@@ -4,6 +4,8 @@ import be.pxl.services.domain.dto.request.CommentRequest;
 import be.pxl.services.domain.dto.response.CommentResponse;
 import be.pxl.services.services.ICommentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,12 +28,19 @@ public class CommentController {
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<List<CommentResponse>> getCommentsForPost(@PathVariable Long postId, @RequestHeader("Role") String role) {
+    public ResponseEntity<List<CommentResponse>> getCommentsForPost(@PathVariable Long postId,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                    @RequestHeader("Role") String role) {
         if (!role.equals("redacteur") && !role.equals("gebruiker")) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
+        // Read before the comments, so a concurrent write can only leave the ETag behind the body and never hide a change
+        String eTag = "\"" + commentService.getCommentsVersion(postId) + "\"";
+        if (ifNoneMatch != null && matchesAny(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).eTag(eTag).build();
+        }
         List<CommentResponse> comments = commentService.getCommentsForPost(postId);
-        return ResponseEntity.ok(comments);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(comments);
     }
 
     @PatchMapping("/{commentId}")
@@ -51,4 +60,14 @@ public class CommentController {
         commentService.deleteComment(commentId);
         return ResponseEntity.noContent().build();
     }
+
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
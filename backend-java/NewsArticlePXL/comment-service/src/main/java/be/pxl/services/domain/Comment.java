@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,4 +23,14 @@ public class Comment {
     private Long postId;
     private String content;
     private String author;
+
+    @Version
+    private Long version;
+
+    public Comment(Long id, Long postId, String content, String author) {
+        this.id = id;
+        this.postId = postId;
+        this.content = content;
+        this.author = author;
+    }
 }
@@ -0,0 +1,10 @@
+package be.pxl.services.domain;
+
+/**
+ * Aggregate over the comments of a post that changes whenever one of them is created, updated or deleted.
+ */
+public interface CommentListVersion {
+    long getCount();
+    long getMaxId();
+    long getVersionSum();
+}
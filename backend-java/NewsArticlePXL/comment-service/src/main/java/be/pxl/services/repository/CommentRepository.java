@@ -1,7 +1,10 @@
 package be.pxl.services.repository;
 
 import be.pxl.services.domain.Comment;
+import be.pxl.services.domain.CommentListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,7 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostId(Long postId);
+    @Query("SELECT COUNT(c) AS count, COALESCE(MAX(c.id), 0) AS maxId, COALESCE(SUM(c.version), 0) AS versionSum " +
+            "FROM Comment c WHERE c.postId = :postId")
+    CommentListVersion findListVersionByPostId(@Param("postId") Long postId);
 }
@@ -1,6 +1,7 @@
 package be.pxl.services.services;
 
 import be.pxl.services.domain.Comment;
+import be.pxl.services.domain.CommentListVersion;
 import be.pxl.services.domain.dto.request.CommentRequest;
 import be.pxl.services.domain.dto.response.CommentResponse;
 import be.pxl.services.repository.CommentRepository;
@@ -41,6 +42,12 @@ public class CommentService implements ICommentService{
             .toList();
     }
 
+    @Override
+    public String getCommentsVersion(Long postId) {
+        CommentListVersion version = commentRepository.findListVersionByPostId(postId);
+        return version.getCount() + "-" + version.getMaxId() + "-" + version.getVersionSum();
+    }
+
     @Override
     public CommentResponse updateComment(Long id, CommentRequest commentRequest) {
         logger.info("Attempting to update comment with ID: {}", id);
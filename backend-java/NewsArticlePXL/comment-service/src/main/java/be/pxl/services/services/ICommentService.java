@@ -8,6 +8,7 @@ import java.util.List;
 public interface ICommentService {
     CommentResponse createComment(CommentRequest commentRequest);
     List<CommentResponse> getCommentsForPost(Long postId);
+    String getCommentsVersion(Long postId);
     CommentResponse updateComment(Long id, CommentRequest commentRequest);
     void deleteComment(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS comment
+(
+    id      BIGINT NOT NULL AUTO_INCREMENT,
+    post_id BIGINT,
+    content VARCHAR(255),
+    author  VARCHAR(255),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,2 @@
+-- CommentRepository.findByPostId
+CREATE INDEX idx_comment_post_id ON comment (post_id);
@@ -0,0 +1,7 @@
+-- Optimistic lock version of a comment, summed into the ETag of a post's comment list
+ALTER TABLE comment
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Covers both CommentRepository.findByPostId and the ETag aggregate, which then never reads the rows
+CREATE INDEX idx_comment_post_id_version ON comment (post_id, version);
+DROP INDEX idx_comment_post_id ON comment;
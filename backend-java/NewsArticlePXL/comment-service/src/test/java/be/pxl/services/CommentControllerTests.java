@@ -50,9 +50,9 @@ public class CommentControllerTests {
     @BeforeEach
     void setUp() {
         commentRepository.deleteAll();
-        Comment comment1 = new Comment(1L, 101L, "Author1", "Content1");
-        Comment comment2 = new Comment(2L, 101L, "Author2", "Content2");
-        Comment comment3 = new Comment(3L, 102L, "Author3", "Content3");
+        Comment comment1 = new Comment(null, 101L, "Author1", "Content1");
+        Comment comment2 = new Comment(null, 101L, "Author2", "Content2");
+        Comment comment3 = new Comment(null, 102L, "Author3", "Content3");
         commentRepository.saveAll(List.of(comment1, comment2, comment3));
     }
 
@@ -85,6 +85,34 @@ public class CommentControllerTests {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldReturnNotModified_whenCommentsAreUnchanged() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/comments/101")
+                        .header("Role", "gebruiker"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/comments/101")
+                        .header("Role", "gebruiker")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldReturnComments_whenACommentChangedSinceETag() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/comments/101")
+                        .header("Role", "gebruiker"))
+                .andReturn().getResponse().getHeader("ETag");
+        Comment comment = commentRepository.findByPostId(101L).get(0);
+        comment.setContent("Changed");
+        commentRepository.save(comment);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/comments/101")
+                        .header("Role", "gebruiker")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void shouldReturnForbidden_whenRoleIsInvalidForGetComments() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/comments/101")
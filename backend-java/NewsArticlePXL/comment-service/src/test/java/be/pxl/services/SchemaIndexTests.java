@@ -0,0 +1,50 @@
+package be.pxl.services;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchemaIndexTests {
+    private static final String URL = "jdbc:h2:mem:commentservice;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    private String plan(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            resultSet.next();
+            return resultSet.getString(1).toLowerCase();
+        }
+    }
+
+    @Test
+    void findByPostIdShouldUsePostIdIndex() throws SQLException {
+        assertThat(plan("SELECT id FROM comment WHERE post_id = 101"))
+                .contains("idx_comment_post_id");
+    }
+
+    @Test
+    void commentListVersionShouldUseCoveringIndex() throws SQLException {
+        assertThat(plan("SELECT COUNT(*), MAX(id), SUM(version) FROM comment WHERE post_id = 101"))
+                .contains("idx_comment_post_id_version");
+    }
+}
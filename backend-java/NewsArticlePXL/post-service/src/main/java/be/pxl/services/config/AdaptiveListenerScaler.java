@@ -0,0 +1,174 @@
+package be.pxl.services.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sizes the consumers and prefetch of the registered listener containers from the depth of their queue
+ * and the latency of their listener. Every sample it picks the consumer count that would drain the current
+ * backlog within the target drain time (Little's law), clamped to the configured bounds. It scales up at once
+ * but down one consumer per sample, so a burst drains quickly and idle consumers, with the database connections
+ * they hold, are released gradually. Decisions are exported as messaging.listener.* metrics tagged with the listener id.
+ */
+public class AdaptiveListenerScaler {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveListenerScaler.class);
+    private static final String LISTENER_TIMER = "spring.rabbitmq.listener";
+
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final AmqpAdmin amqpAdmin;
+    private final MeterRegistry meterRegistry;
+    private final Limits limits;
+    private final Map<String, ManagedListener> listeners = new ConcurrentHashMap<>();
+
+    public record Limits(int minConsumers, int maxConsumers, int minPrefetch, int maxPrefetch, Duration targetDrainTime) {
+    }
+
+    private static final class ManagedListener {
+        private final int messagesPerInvocation;
+        private final AtomicInteger consumers = new AtomicInteger();
+        private final AtomicInteger prefetch = new AtomicInteger();
+        private final AtomicLong queueDepth = new AtomicLong();
+        private volatile double latencySeconds;
+        private long sampledCount;
+        private double sampledTotalSeconds;
+
+        private ManagedListener(int messagesPerInvocation) {
+            this.messagesPerInvocation = messagesPerInvocation;
+        }
+    }
+
+    public AdaptiveListenerScaler(RabbitListenerEndpointRegistry listenerRegistry, AmqpAdmin amqpAdmin,
+                                  MeterRegistry meterRegistry, Limits limits) {
+        this.listenerRegistry = listenerRegistry;
+        this.amqpAdmin = amqpAdmin;
+        this.meterRegistry = meterRegistry;
+        this.limits = limits;
+    }
+
+    /**
+     * @param messagesPerInvocation how many messages one listener call handles at most, the batch size for batch listeners
+     */
+    public AdaptiveListenerScaler manage(String listenerId, int messagesPerInvocation) {
+        ManagedListener listener = new ManagedListener(Math.max(1, messagesPerInvocation));
+        listener.consumers.set(limits.minConsumers());
+        listener.prefetch.set(limits.minPrefetch());
+        listeners.put(listenerId, listener);
+        Gauge.builder("messaging.listener.consumers", listener.consumers, AtomicInteger::get)
+                .tag("listener", listenerId).register(meterRegistry);
+        Gauge.builder("messaging.listener.prefetch", listener.prefetch, AtomicInteger::get)
+                .tag("listener", listenerId).register(meterRegistry);
+        Gauge.builder("messaging.listener.queue.depth", listener.queueDepth, AtomicLong::get)
+                .tag("listener", listenerId).register(meterRegistry);
+        Gauge.builder("messaging.listener.latency", listener, l -> l.latencySeconds)
+                .tag("listener", listenerId).baseUnit("seconds").register(meterRegistry);
+        return this;
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.adaptive.interval:PT5S}", initialDelayString = "${messaging.adaptive.interval:PT5S}")
+    public void sample() {
+        listeners.forEach((listenerId, listener) -> {
+            try {
+                sample(listenerId, listener);
+            } catch (RuntimeException e) {
+                logger.warn("Could not sample listener {}: {}", listenerId, e.getMessage());
+            }
+        });
+    }
+
+    private void sample(String listenerId, ManagedListener listener) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+        if (!(container instanceof SimpleMessageListenerContainer simpleContainer) || !container.isRunning()) {
+            return;
+        }
+
+        long depth = 0;
+        for (String queueName : simpleContainer.getQueueNames()) {
+            QueueInformation queueInformation = amqpAdmin.getQueueInfo(queueName);
+            if (queueInformation != null) {
+                depth += queueInformation.getMessageCount();
+            }
+        }
+        listener.queueDepth.set(depth);
+        updateLatency(listenerId, listener);
+
+        int current = listener.consumers.get();
+        int consumers = desiredConsumers(depth, listener.messagesPerInvocation, listener.latencySeconds, current, limits);
+        int prefetch = desiredPrefetch(depth, consumers, limits);
+        // Prefetch only applies to consumers started afterwards, so set it before changing the consumer count
+        if (prefetch != listener.prefetch.getAndSet(prefetch)) {
+            simpleContainer.setPrefetchCount(prefetch);
+        }
+        if (consumers != current) {
+            simpleContainer.setConcurrentConsumers(consumers);
+            listener.consumers.set(consumers);
+            Counter.builder("messaging.listener.scaling")
+                    .tag("listener", listenerId)
+                    .tag("direction", consumers > current ? "up" : "down")
+                    .register(meterRegistry)
+                    .increment();
+            logger.info("Scaled listener {} from {} to {} consumers (queue depth {}, latency {} s, prefetch {})",
+                    listenerId, current, consumers, depth, String.format("%.3f", listener.latencySeconds), prefetch);
+        }
+    }
+
+    private void updateLatency(String listenerId, ManagedListener listener) {
+        long count = 0;
+        double totalSeconds = 0;
+        for (Timer timer : meterRegistry.find(LISTENER_TIMER).tag("listener.id", listenerId).timers()) {
+            count += timer.count();
+            totalSeconds += timer.totalTime(TimeUnit.SECONDS);
+        }
+        long invocations = count - listener.sampledCount;
+        if (invocations > 0) {
+            listener.latencySeconds = (totalSeconds - listener.sampledTotalSeconds) / invocations;
+        }
+        listener.sampledCount = count;
+        listener.sampledTotalSeconds = totalSeconds;
+    }
+
+    /**
+     * Consumers needed to work through the backlog within the target drain time. Without a latency sample yet,
+     * a backlog adds one consumer per sample. Scaling down is limited to one consumer per sample.
+     */
+    public static int desiredConsumers(long depth, int messagesPerInvocation, double latencySeconds, int current, Limits limits) {
+        int desired;
+        if (depth == 0) {
+            desired = limits.minConsumers();
+        } else if (latencySeconds <= 0) {
+            desired = current + 1;
+        } else {
+            double invocations = Math.ceil((double) depth / messagesPerInvocation);
+            double targetSeconds = limits.targetDrainTime().toMillis() / 1000.0;
+            desired = (int) Math.min(Integer.MAX_VALUE, Math.ceil(invocations * latencySeconds / targetSeconds));
+        }
+        if (desired < current) {
+            desired = current - 1;
+        }
+        return Math.max(limits.minConsumers(), Math.min(limits.maxConsumers(), desired));
+    }
+
+    /**
+     * Enough prefetch to give every consumer its share of the backlog, within the configured bounds.
+     */
+    public static int desiredPrefetch(long depth, int consumers, Limits limits) {
+        long share = (depth + consumers - 1) / Math.max(1, consumers);
+        return (int) Math.max(limits.minPrefetch(), Math.min(limits.maxPrefetch(), share));
+    }
+}
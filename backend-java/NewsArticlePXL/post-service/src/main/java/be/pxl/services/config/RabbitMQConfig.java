@@ -1,25 +1,201 @@
 package be.pxl.services.config;
 
+import be.pxl.services.services.ReviewPartitions;
+import be.pxl.services.services.ReviewRetryRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.aop.Advice;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 
 @Configuration
 public class RabbitMQConfig {
+    public static final String POST_CACHE_EXCHANGE = "postCacheExchange";
+    public static final String NOTIFICATION_EXCHANGE = "notificationExchange";
+
     @Bean
     public Queue postQueue() {
-        return new Queue("postQueue", false);
+        return new Queue("postQueue", true);
     }
 
     @Bean
     public Queue reviewQueue() {
-        return new Queue("reviewQueue", false);
+        return new Queue("reviewQueue", true);
+    }
+
+    @Bean
+    public Queue notificationQueue() {
+        return new Queue("notificationQueue", true);
+    }
+
+    // reviewExchange hashes review messages by post id over the shard queues, or hands them to reviewQueue while none is bound
+    @Bean
+    public Declarables reviewExchanges() {
+        return new Declarables(ReviewPartitions.exchanges());
+    }
+
+    @Bean
+    public Declarables reviewShardQueues(ReviewPartitions reviewPartitions) {
+        return new Declarables(reviewPartitions.shardQueues());
+    }
+
+    // Failed review messages wait out their backoff in these and come back through reviewExchange (see ReviewRetryRouter)
+    @Bean
+    public Declarables reviewRetryQueues(ReviewRetryRouter reviewRetryRouter) {
+        return new Declarables(reviewRetryRouter.retryQueues());
+    }
+
+    @Bean
+    public Queue reviewDeadLetterQueue() {
+        return new Queue(ReviewRetryRouter.DEAD_LETTER_QUEUE, true);
+    }
+
+    // Every post-service instance binds its own exclusive queues, so a post change reaches the cache
+    // and the search index of all replicas
+    @Bean
+    public FanoutExchange postCacheExchange() {
+        return new FanoutExchange(POST_CACHE_EXCHANGE);
+    }
+
+    @Bean
+    public AnonymousQueue postCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding postCacheInvalidationBinding(AnonymousQueue postCacheInvalidationQueue, FanoutExchange postCacheExchange) {
+        return BindingBuilder.bind(postCacheInvalidationQueue).to(postCacheExchange);
+    }
+
+    @Bean
+    public AnonymousQueue postIndexQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding postIndexBinding(AnonymousQueue postIndexQueue, FanoutExchange postCacheExchange) {
+        return BindingBuilder.bind(postIndexQueue).to(postCacheExchange);
+    }
+
+    // Same fan-out for new notifications: whichever replica holds an author's event stream pushes it
+    @Bean
+    public FanoutExchange notificationExchange() {
+        return new FanoutExchange(NOTIFICATION_EXCHANGE);
+    }
+
+    @Bean
+    public AnonymousQueue notificationBroadcastQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding notificationBroadcastBinding(AnonymousQueue notificationBroadcastQueue, FanoutExchange notificationExchange) {
+        return BindingBuilder.bind(notificationBroadcastQueue).to(notificationExchange);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory reviewContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                       ConnectionFactory connectionFactory,
+                                                                       ReviewRetryRouter reviewRetryRouter) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAdviceChain(retryAdvice(reviewRetryRouter));
+        return factory;
+    }
+
+    // Consumer-side batching: a batch is handed over when it is full or the queue stays idle for the receive timeout
+    @Bean
+    public SimpleRabbitListenerContainerFactory reviewBatchContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                            ConnectionFactory connectionFactory,
+                                                                            ReviewRetryRouter reviewRetryRouter,
+                                                                            @Value("${posts.reviews.batch.size:100}") int batchSize,
+                                                                            @Value("${posts.reviews.batch.receive-timeout:PT0.2S}") Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = batchContainerFactory(configurer, connectionFactory, batchSize, receiveTimeout);
+        factory.setAdviceChain(retryAdvice(reviewRetryRouter));
+        return factory;
+    }
+
+    // No in-memory retries that would block the consumer: a failed delivery goes straight to the router,
+    // which delays it on the broker, and is then acked instead of being requeued in a hot loop
+    private static Advice retryAdvice(ReviewRetryRouter reviewRetryRouter) {
+        return RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(reviewRetryRouter)
+                .build();
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory notificationBatchContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                                  ConnectionFactory connectionFactory,
+                                                                                  @Value("${notifications.batch.size:100}") int batchSize,
+                                                                                  @Value("${notifications.batch.receive-timeout:PT0.2S}") Duration receiveTimeout) {
+        return batchContainerFactory(configurer, connectionFactory, batchSize, receiveTimeout);
+    }
+
+    private static SimpleRabbitListenerContainerFactory batchContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                              ConnectionFactory connectionFactory,
+                                                                              int batchSize,
+                                                                              Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        return factory;
+    }
+
+    // Only the notification listener is scaled: concurrent consumers on reviewQueue would apply the reviews of one
+    // post out of order and fail on each other's optimistic locks, so the review listeners keep their single consumer
+    @Bean
+    @ConditionalOnProperty(name = "messaging.adaptive.enabled", havingValue = "true", matchIfMissing = true)
+    public AdaptiveListenerScaler adaptiveListenerScaler(RabbitListenerEndpointRegistry listenerRegistry,
+                                                         AmqpAdmin amqpAdmin,
+                                                         MeterRegistry meterRegistry,
+                                                         @Value("${messaging.adaptive.min-consumers:1}") int minConsumers,
+                                                         @Value("${messaging.adaptive.max-consumers:8}") int maxConsumers,
+                                                         @Value("${messaging.adaptive.min-prefetch:10}") int minPrefetch,
+                                                         @Value("${messaging.adaptive.max-prefetch:250}") int maxPrefetch,
+                                                         @Value("${messaging.adaptive.target-drain-time:PT5S}") Duration targetDrainTime,
+                                                         @Value("${notifications.batch.size:100}") int notificationBatchSize) {
+        return new AdaptiveListenerScaler(listenerRegistry, amqpAdmin, meterRegistry,
+                new AdaptiveListenerScaler.Limits(minConsumers, maxConsumers, minPrefetch, maxPrefetch, targetDrainTime))
+                .manage("notificationListener", notificationBatchSize);
     }
 
+    /**
+     * Listeners read JSON and the compact codec side by side, picked by the content type of each message,
+     * so producers can switch with messaging.codec in any order. Direct sends stay JSON.
+     * Every published message gets a message id, which listeners use to drop redeliveries.
+     */
     @Bean
-    public Jackson2JsonMessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter messageConverter() {
+        Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+        json.setCreateMessageIds(true);
+        CompactMessageConverter compact = new CompactMessageConverter();
+        compact.setCreateMessageIds(true);
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(json);
+        converter.addDelegate(CompactMessageConverter.CONTENT_TYPE, compact);
+        return converter;
     }
-}
\ No newline at end of file
+}
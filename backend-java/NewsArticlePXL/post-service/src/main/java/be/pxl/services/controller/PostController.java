@@ -2,24 +2,47 @@ package be.pxl.services.controller;
 
 import be.pxl.services.domain.Notification;
 import be.pxl.services.domain.dto.request.NotificationRequest;
+import be.pxl.services.domain.dto.response.CursorPage;
+import be.pxl.services.domain.dto.response.DeadLetterReplayResponse;
+import be.pxl.services.domain.dto.response.DeadLetterResponse;
 import be.pxl.services.domain.dto.response.NotificationResponse;
+import be.pxl.services.domain.dto.response.PostEventReplayResponse;
+import be.pxl.services.domain.dto.response.PostStatusEventResponse;
 import be.pxl.services.enums.Status;
+import be.pxl.services.exceptions.PreconditionFailedException;
 import be.pxl.services.domain.dto.request.PostRequest;
 import be.pxl.services.domain.dto.response.PostResponse;
+import be.pxl.services.domain.dto.response.PostStatsResponse;
+import be.pxl.services.services.IDeadLetterService;
+import be.pxl.services.services.IPostEventService;
 import be.pxl.services.services.IPostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/posts")
 @RequiredArgsConstructor
 public class PostController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
     private final IPostService postService;
+    private final IDeadLetterService deadLetterService;
+    private final IPostEventService postEventService;
+    private final ObjectMapper objectMapper;
 
 //    @GetMapping
 //    public ResponseEntity<List<PostResponse>> getAllPosts() {
@@ -36,31 +59,73 @@ public class PostController {
         return new ResponseEntity<>(postResponse, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<PostResponse>> createPosts(@RequestBody List<PostRequest> postRequests, @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        List<PostResponse> postResponses = postService.createPosts(postRequests);
+        return new ResponseEntity<>(postResponses, HttpStatus.CREATED);
+    }
+
     @PutMapping("/{postId}")
-    public ResponseEntity<PostResponse> updatePost(@PathVariable Long postId, @RequestBody PostRequest postRequest, @RequestHeader("Role") String role) {
+    public ResponseEntity<PostResponse> updatePost(@PathVariable Long postId, @RequestBody PostRequest postRequest,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestHeader("Role") String role) {
         if (!role.equals("redacteur")) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
-        PostResponse postResponse = postService.updatePost(postId, postRequest);
-        return ResponseEntity.ok(postResponse);
+        PostResponse postResponse = postService.updatePost(postId, postRequest, expectedVersion(postId, ifMatch));
+        return withETag(ResponseEntity.ok(), postResponse.getVersion()).body(postResponse);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<PostStatsResponse> getPostStatistics(@RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(postService.getPostStatistics());
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<PostResponse>> getPostsByIds(@RequestParam List<Long> ids, @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur") && !role.equals("gebruiker")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(postService.getPostsByIds(ids));
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<PostResponse> getPostById(@PathVariable Long postId, @RequestHeader("Role") String role) {
+    public ResponseEntity<PostResponse> getPostById(@PathVariable Long postId,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                    @RequestHeader("Role") String role) {
         if (!role.equals("redacteur") && !role.equals("gebruiker")) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
+        // Revalidation only needs the version, so an unchanged post is answered without loading or serializing it
+        if (ifNoneMatch != null) {
+            Long version = postService.getPostVersion(postId);
+            if (matchesAny(ifNoneMatch, eTag(version))) {
+                return withETag(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
+        }
         PostResponse postResponse = postService.getPostById(postId);
-        return ResponseEntity.ok(postResponse);
+        return withETag(ResponseEntity.ok(), postResponse.getVersion()).body(postResponse);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PostResponse>> getPostsByStatus(@PathVariable Status status, @RequestHeader("Role") String role) {
+    public ResponseEntity<? extends List<?>> getPostsByStatus(@PathVariable Status status,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @RequestParam(defaultValue = "false") boolean full,
+                                                              @RequestHeader("Role") String role) {
         if (!role.equals("redacteur")) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
-        List<PostResponse> posts = postService.getPostsByStatus(status);
-        return ResponseEntity.ok(posts);
+        if (full) {
+            return toPageResponse(postService.getPostsByStatus(status, cursor, size));
+        }
+        return toPageResponse(postService.getPostSummariesByStatus(status, cursor, size));
     }
 
     @PatchMapping("/{postId}/status")
@@ -73,17 +138,45 @@ public class PostController {
     }
 
     @GetMapping()
-    public ResponseEntity<List<PostResponse>> getFilteredPosts(@RequestParam(required = false) String content,
-                                                               @RequestParam(required = false) String author,
-                                                               @RequestParam(required = false) LocalDateTime fromDate,
-                                                               @RequestParam(required = false) LocalDateTime toDate,
-                                                               @RequestParam(required = false) Status status,
-                                                               @RequestHeader("Role") String role) {
+    public ResponseEntity<? extends List<?>> getFilteredPosts(@RequestParam(required = false) String content,
+                                                              @RequestParam(required = false) String author,
+                                                              @RequestParam(required = false) LocalDateTime fromDate,
+                                                              @RequestParam(required = false) LocalDateTime toDate,
+                                                              @RequestParam(required = false) Status status,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @RequestParam(defaultValue = "false") boolean full,
+                                                              @RequestHeader("Role") String role) {
         if (!role.equals("redacteur") && !role.equals("gebruiker")) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
-        List<PostResponse> posts = postService.getAllPosts(content, author, fromDate, toDate, status);
-        return ResponseEntity.ok(posts);
+        if (full) {
+            return toPageResponse(postService.getAllPosts(content, author, fromDate, toDate, status, cursor, size));
+        }
+        return toPageResponse(postService.getPostSummaries(content, author, fromDate, toDate, status, cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPosts(@RequestParam(required = false) String content,
+                                                             @RequestParam(required = false) String author,
+                                                             @RequestParam(required = false) LocalDateTime fromDate,
+                                                             @RequestParam(required = false) LocalDateTime toDate,
+                                                             @RequestParam(required = false) Status status,
+                                                             @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur") && !role.equals("gebruiker")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        StreamingResponseBody body = outputStream -> postService.streamPosts(content, author, fromDate, toDate, status, post -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(post));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping("/notification")
@@ -93,11 +186,124 @@ public class PostController {
     }
 
     @GetMapping("/notifications/{author}")
-    public ResponseEntity<List<NotificationResponse>> getNotificationsForAuthor(@PathVariable String author, @RequestHeader("Role") String role) {
+    public ResponseEntity<List<NotificationResponse>> getNotificationsForAuthor(@PathVariable String author,
+                                                                                @RequestParam(defaultValue = "false") boolean unreadOnly,
+                                                                                @RequestParam(required = false) String cursor,
+                                                                                @RequestParam(required = false) Integer size,
+                                                                                @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return toPageResponse(postService.getNotificationsForAuthor(author, unreadOnly, cursor, size));
+    }
+
+    @GetMapping("/notifications/{author}/unread-count")
+    public ResponseEntity<Long> getUnreadNotificationCount(@PathVariable String author, @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(postService.getUnreadNotificationCount(author));
+    }
+
+    // Without a body every unread notification of the author is marked as read
+    @PatchMapping("/notifications/{author}/read")
+    public ResponseEntity<Integer> markNotificationsAsRead(@PathVariable String author,
+                                                           @RequestBody(required = false) List<Long> notificationIds,
+                                                           @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(postService.markNotificationsAsRead(author, notificationIds));
+    }
+
+    @GetMapping(value = "/notifications/{author}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(@PathVariable String author, @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(postService.streamNotifications(author));
+    }
+
+    // Review messages that ran out of retries, oldest first; reading them leaves them on the queue
+    @GetMapping("/dead-letters")
+    public ResponseEntity<List<DeadLetterResponse>> getDeadLetters(@RequestParam(required = false) Integer limit,
+                                                                   @RequestHeader("Role") String role) {
         if (!role.equals("redacteur")) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
-        List<NotificationResponse> notifications = postService.getNotificationsForAuthor(author);
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(deadLetterService.countDeadLetters()))
+                .body(deadLetterService.getDeadLetters(limit));
+    }
+
+    @PostMapping("/dead-letters/replay")
+    public ResponseEntity<DeadLetterReplayResponse> replayDeadLetters(@RequestParam(required = false) Integer limit,
+                                                                      @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(deadLetterService.replayDeadLetters(limit));
+    }
+
+    @GetMapping("/events")
+    public ResponseEntity<List<PostStatusEventResponse>> getPostEvents(@RequestParam(required = false) Long fromOffset,
+                                                                       @RequestParam(required = false) Integer size,
+                                                                       @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(postEventService.getEvents(fromOffset, size));
+    }
+
+    @PostMapping("/events/replay")
+    public ResponseEntity<PostEventReplayResponse> replayPostEvents(@RequestParam(required = false) Long fromOffset,
+                                                                    @RequestParam(required = false) Set<String> readModels,
+                                                                    @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(postEventService.replay(fromOffset, readModels));
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Long version) {
+        // no-cache lets browsers keep the body but revalidate it with If-None-Match on every poll
+        return builder.cacheControl(CacheControl.noCache()).eTag(eTag(version));
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long expectedVersion(Long postId, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the precondition failure below
+            }
+        }
+        throw new PreconditionFailedException("Post with ID " + postId + " has been modified");
+    }
+
+    private <T> ResponseEntity<List<T>> toPageResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 }
\ No newline at end of file
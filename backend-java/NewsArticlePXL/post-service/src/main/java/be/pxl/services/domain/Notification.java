@@ -1,24 +1,36 @@
 package be.pxl.services.domain;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Data
 @Builder
+@AllArgsConstructor
 public class Notification {
+    // Pooled ids keep the batched inserts of the notificationQueue listener JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
     private String message;
     private String author;
     private String postAuthor;
+    private LocalDateTime creationDate;
+
+    // READ is a reserved word in MySQL
+    @Column(name = "is_read")
+    private boolean read;
 
     public Notification() {
     }
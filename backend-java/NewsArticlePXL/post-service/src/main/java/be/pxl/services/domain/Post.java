@@ -12,20 +12,37 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @Builder
+@AllArgsConstructor
 public class Post {
+    public static final int EXCERPT_LENGTH = 200;
+
+    // Pooled ids let Hibernate batch inserts, which IDENTITY columns prevent; emulated with the post_seq table on MySQL
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
     private Long id;
 
     private String title;
     private String content;
     private String author;
 
+    // Precomputed at write time so list endpoints never have to read the full content
+    @Column(length = EXCERPT_LENGTH + 1)
+    private String excerpt;
+
     @Enumerated(EnumType.STRING)
     private Status status;
 
     private LocalDateTime creationDate;
 
+    // Bumped on every update; doubles as the ETag of the post resource
+    @Version
+    private Long version;
+
+    // Sequence of the last review applied to this post, so a review that comes back from a retry queue after a
+    // newer one was applied is skipped instead of overwriting it (see ReviewPartitions#SEQUENCE_HEADER)
+    private Long lastReviewSequence;
+
     public Post() {
     }
 
@@ -37,4 +54,4 @@ public class Post {
         this.status = status;
         this.creationDate = creationDate;
     }
-}
\ No newline at end of file
+}
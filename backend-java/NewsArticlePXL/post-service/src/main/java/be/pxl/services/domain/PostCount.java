@@ -0,0 +1,12 @@
+package be.pxl.services.domain;
+
+import be.pxl.services.enums.Status;
+
+/**
+ * Row of the post count per status and author, used to seed and reconcile the post statistics.
+ */
+public interface PostCount {
+    Status getStatus();
+    String getAuthor();
+    long getCount();
+}
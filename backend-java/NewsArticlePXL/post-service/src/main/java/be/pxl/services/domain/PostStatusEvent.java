@@ -0,0 +1,65 @@
+package be.pxl.services.domain;
+
+import be.pxl.services.enums.Status;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the append-only post status log: the post's author and status right after a change.
+ * Appends only insert the event; its offset in the log is handed out after it committed, by
+ * {@link be.pxl.services.services.PostEventSequencer}. Until then readers of the log do not see it.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStatusEvent {
+    // Pooled ids keep the appends of a batch JDBC-batched; they say nothing about the order of the events
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_status_event_seq")
+    @SequenceGenerator(name = "post_status_event_seq", sequenceName = "post_status_event_seq", allocationSize = 50)
+    private Long id;
+
+    // The only column written after the insert
+    private Long logOffset;
+
+    @Column(updatable = false)
+    private Long postId;
+
+    // Version of the post after the change, which grows with every change of that post
+    @Column(updatable = false)
+    private Long postVersion;
+
+    @Column(updatable = false)
+    private String author;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private Status previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private Status status;
+
+    @Column(updatable = false)
+    private LocalDateTime occurredAt;
+
+    public void assignOffset(long logOffset) {
+        this.logOffset = logOffset;
+    }
+
+    /**
+     * Whether this event describes a later state of its post than {@code other}. The sequencer hands out the
+     * offsets of a post in the order of its versions, unlike the clocks of the replicas that took
+     * {@link #getOccurredAt()}.
+     */
+    public boolean isAfter(PostStatusEvent other) {
+        return logOffset > other.logOffset;
+    }
+}
@@ -0,0 +1,17 @@
+package be.pxl.services.domain;
+
+import be.pxl.services.enums.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of {@link Post} without its content, used by the list endpoints.
+ */
+public interface PostSummary {
+    Long getId();
+    String getTitle();
+    String getExcerpt();
+    String getAuthor();
+    Status getStatus();
+    LocalDateTime getCreationDate();
+}
@@ -0,0 +1,47 @@
+package be.pxl.services.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id of a message a listener has already handled, kept for messaging.dedup.retention to recognise redeliveries.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class ProcessedMessage implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String messageId;
+
+    private LocalDateTime processedAt;
+
+    // The id is assigned, so without this saveAll would SELECT every row first to choose between persist and merge
+    @Transient
+    private boolean persisted;
+
+    public ProcessedMessage(String messageId, LocalDateTime processedAt) {
+        this.messageId = messageId;
+        this.processedAt = processedAt;
+    }
+
+    @Override
+    public String getId() {
+        return messageId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,13 @@
+package be.pxl.services.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplayResponse {
+    private int replayed;
+    private long remaining;
+}
@@ -0,0 +1,19 @@
+package be.pxl.services.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterResponse {
+    private String messageId;
+    // Null when the message body could not be read
+    private ReviewMessage review;
+    private int attempts;
+    private String error;
+    private Instant deadLetteredAt;
+}
@@ -4,11 +4,16 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class NotificationResponse {
+    private Long id;
     private String message;
     private String author;
     private String postAuthor;
+    private LocalDateTime creationDate;
+    private boolean read;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package be.pxl.services.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostEventReplayResponse {
+    private List<String> readModels;
+    private long fromOffset;
+    private Long toOffset;
+    private long events;
+    private int posts;
+    private long durationMillis;
+}
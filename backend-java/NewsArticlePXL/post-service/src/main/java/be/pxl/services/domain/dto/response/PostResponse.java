@@ -17,4 +17,9 @@ public class PostResponse {
     private String author;
     private Status status;
     private LocalDateTime creationDate;
+    private Long version;
+
+    public PostResponse(Long id, String title, String content, String author, Status status, LocalDateTime creationDate) {
+        this(id, title, content, author, status, creationDate, null);
+    }
 }
@@ -0,0 +1,17 @@
+package be.pxl.services.domain.dto.response;
+
+import be.pxl.services.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStatsResponse {
+    private long total;
+    private Map<Status, Long> byStatus;
+    private Map<String, Long> byAuthor;
+}
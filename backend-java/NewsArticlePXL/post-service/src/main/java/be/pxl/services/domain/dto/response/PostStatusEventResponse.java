@@ -0,0 +1,20 @@
+package be.pxl.services.domain.dto.response;
+
+import be.pxl.services.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStatusEventResponse {
+    private Long offset;
+    private Long postId;
+    private String author;
+    private Status previousStatus;
+    private Status status;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,20 @@
+package be.pxl.services.domain.dto.response;
+
+import be.pxl.services.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummaryResponse {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String author;
+    private Status status;
+    private LocalDateTime creationDate;
+}
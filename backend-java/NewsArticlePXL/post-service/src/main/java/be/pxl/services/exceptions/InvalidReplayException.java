@@ -0,0 +1,11 @@
+package be.pxl.services.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidReplayException extends RuntimeException {
+    public InvalidReplayException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package be.pxl.services.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReplayInProgressException extends RuntimeException {
+    public ReplayInProgressException(String message) {
+        super(message);
+    }
+}
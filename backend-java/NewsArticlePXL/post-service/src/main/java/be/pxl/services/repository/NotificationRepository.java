@@ -1,12 +1,40 @@
 package be.pxl.services.repository;
 
 import be.pxl.services.domain.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findNotificationsByPostAuthor(String postAuthor);
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.postAuthor = :postAuthor " +
+            "AND (:unreadOnly = false OR n.read = false) " +
+            "AND (:cursorDate IS NULL OR n.creationDate < :cursorDate " +
+            "OR (n.creationDate = :cursorDate AND n.id < :cursorId)) " +
+            "ORDER BY n.creationDate DESC, n.id DESC")
+    List<Notification> findInboxPage(
+            @Param("postAuthor") String postAuthor,
+            @Param("unreadOnly") boolean unreadOnly,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+    long countByPostAuthorAndReadFalse(String postAuthor);
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.postAuthor = :postAuthor AND n.read = false AND n.id IN :ids")
+    int markAsRead(@Param("postAuthor") String postAuthor, @Param("ids") Collection<Long> ids);
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.postAuthor = :postAuthor AND n.read = false")
+    int markAllAsRead(@Param("postAuthor") String postAuthor);
 }
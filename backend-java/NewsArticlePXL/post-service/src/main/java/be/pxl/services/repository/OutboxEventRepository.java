@@ -0,0 +1,21 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Only read by the replica holding the relay lock. relay_order is assigned by the database on insert,
+    // so per post the events come out in the order their transactions wrote them, which the pooled id does not give
+    @Query(value = "SELECT * FROM outbox_event ORDER BY relay_order", nativeQuery = true)
+    List<OutboxEvent> findNextBatch(Pageable pageable);
+
+    // Blocks until the relay of any other replica has committed its batch
+    @Query(value = "SELECT id FROM outbox_relay_lock WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    Integer lockRelay();
+}
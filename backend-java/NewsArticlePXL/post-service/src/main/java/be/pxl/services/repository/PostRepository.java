@@ -1,29 +1,103 @@
 package be.pxl.services.repository;
 
 import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostCount;
+import be.pxl.services.domain.PostSummary;
 import be.pxl.services.enums.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findByStatus(Status status);
+    int STREAM_FETCH_SIZE = 500;
+    // Posts written before excerpts were stored fall back to the start of their content
+    String SUMMARY_COLUMNS = "p.id AS id, p.title AS title, " +
+            "COALESCE(p.excerpt, SUBSTRING(p.content, 1, " + Post.EXCERPT_LENGTH + ")) AS excerpt, " +
+            "p.author AS author, p.status AS status, p.creationDate AS creationDate";
+
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @Query("SELECT p.version FROM Post p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    @Query("SELECT p.status AS status, p.author AS author, COUNT(p) AS count FROM Post p GROUP BY p.status, p.author")
+    List<PostCount> countByStatusAndAuthor();
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.status = :status " +
+            "AND (:cursorDate IS NULL OR p.creationDate < :cursorDate " +
+            "OR (p.creationDate = :cursorDate AND p.id < :cursorId)) " +
+            "ORDER BY p.creationDate DESC, p.id DESC")
+    List<Post> findPageByStatus(
+            @Param("status") Status status,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+    @Query("SELECT p FROM Post p " +
+            "WHERE (:fromDate IS NULL OR p.creationDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR p.creationDate <= :toDate) " +
+            "AND (:status IS NULL OR p.status = :status) " +
+            "AND (:cursorDate IS NULL OR p.creationDate < :cursorDate " +
+            "OR (p.creationDate = :cursorDate AND p.id < :cursorId)) " +
+            "ORDER BY p.creationDate DESC, p.id DESC")
+    List<Post> findFilteredPostsPage(
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("status") Status status,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p " +
+            "WHERE p.status = :status " +
+            "AND (:cursorDate IS NULL OR p.creationDate < :cursorDate " +
+            "OR (p.creationDate = :cursorDate AND p.id < :cursorId)) " +
+            "ORDER BY p.creationDate DESC, p.id DESC")
+    List<PostSummary> findSummaryPageByStatus(
+            @Param("status") Status status,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p " +
+            "WHERE (:fromDate IS NULL OR p.creationDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR p.creationDate <= :toDate) " +
+            "AND (:status IS NULL OR p.status = :status) " +
+            "AND (:cursorDate IS NULL OR p.creationDate < :cursorDate " +
+            "OR (p.creationDate = :cursorDate AND p.id < :cursorId)) " +
+            "ORDER BY p.creationDate DESC, p.id DESC")
+    List<PostSummary> findFilteredSummariesPage(
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("status") Status status,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("SELECT p FROM Post p " +
-            "WHERE (:content IS NULL OR LOWER(p.content) LIKE LOWER(CONCAT('%', :content, '%'))) " +
-            "AND (:author IS NULL OR LOWER(p.author) LIKE LOWER(CONCAT('%', :author, '%'))) " +
-            "AND (:fromDate IS NULL OR p.creationDate >= :fromDate) " +
-            "AND (:toDate IS NULL OR p.creationDate <= :toDate)" +
-            "AND (:status IS NULL OR p.status = :status)")
-    List<Post> findFilteredPosts(
-            @Param("content") String content,
-            @Param("author") String author,
+            "WHERE (:fromDate IS NULL OR p.creationDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR p.creationDate <= :toDate) " +
+            "AND (:status IS NULL OR p.status = :status) " +
+            "ORDER BY p.creationDate DESC, p.id DESC")
+    Stream<Post> streamFilteredPosts(
             @Param("fromDate") LocalDateTime fromDate,
             @Param("toDate") LocalDateTime toDate,
             @Param("status") Status status
     );
-}
\ No newline at end of file
+}
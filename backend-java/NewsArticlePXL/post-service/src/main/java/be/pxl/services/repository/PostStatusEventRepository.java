@@ -0,0 +1,26 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.PostStatusEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostStatusEventRepository extends JpaRepository<PostStatusEvent, Long> {
+    List<PostStatusEvent> findByLogOffsetGreaterThanEqualOrderByLogOffsetAsc(Long fromOffset, Pageable pageable);
+
+    List<PostStatusEvent> findByLogOffsetBetweenOrderByLogOffsetAsc(Long fromOffset, Long toOffset);
+
+    @Query("SELECT MIN(e.logOffset) FROM PostStatusEvent e")
+    Long findFirstOffset();
+
+    @Query("SELECT MAX(e.logOffset) FROM PostStatusEvent e")
+    Long findLastOffset();
+
+    // Only read by the replica holding the relay lock (see PostEventSequencer); per post, versions follow its changes
+    @Query("SELECT e FROM PostStatusEvent e WHERE e.logOffset IS NULL ORDER BY e.postVersion, e.id")
+    List<PostStatusEvent> findUnsequenced(Pageable pageable);
+}
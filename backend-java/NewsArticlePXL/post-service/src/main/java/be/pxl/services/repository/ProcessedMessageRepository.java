@@ -0,0 +1,23 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.ProcessedMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProcessedMessageRepository extends JpaRepository<ProcessedMessage, String> {
+    @Query("SELECT p.messageId FROM ProcessedMessage p WHERE p.messageId IN :messageIds")
+    List<String> findProcessedIds(@Param("messageIds") Collection<String> messageIds);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProcessedMessage p WHERE p.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,27 @@
+package be.pxl.services.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects that other requests or replicas can observe (caches, in-memory read models, broadcasts)
+ * until the surrounding transaction has committed, so a rollback never leaves them behind and nobody reads the
+ * old row back in between. Outside a transaction the action runs right away.
+ */
+final class AfterCommit {
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
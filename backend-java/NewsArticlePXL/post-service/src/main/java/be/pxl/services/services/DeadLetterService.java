@@ -0,0 +1,162 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.dto.response.DeadLetterReplayResponse;
+import be.pxl.services.domain.dto.response.DeadLetterResponse;
+import be.pxl.services.domain.dto.response.ReviewMessage;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inspects and replays the review messages {@link ReviewRetryRouter} gave up on.
+ * Both work on one channel with manual acks: inspecting requeues everything it read, replaying only acks
+ * the dead letters once their copies on {@link ReviewPartitions#EXCHANGE} are confirmed, so neither can lose a message.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeadLetterService implements IDeadLetterService {
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterService.class);
+    private static final String ENCODING = StandardCharsets.UTF_8.name();
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter messageConverter;
+    private final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
+
+    @Value("${posts.reviews.dead-letters.default-limit:50}")
+    private int defaultLimit = 50;
+
+    @Value("${posts.reviews.dead-letters.max-limit:500}")
+    private int maxLimit = 500;
+
+    @Value("${outbox.relay.confirm-timeout:PT10S}")
+    private Duration confirmTimeout = Duration.ofSeconds(10);
+
+    @Override
+    public List<DeadLetterResponse> getDeadLetters(Integer limit) {
+        int count = resolveLimit(limit);
+        return rabbitTemplate.execute(channel -> {
+            List<DeadLetterResponse> deadLetters = new ArrayList<>();
+            long lastDeliveryTag = -1;
+            try {
+                GetResponse response;
+                while (deadLetters.size() < count
+                        && (response = channel.basicGet(ReviewRetryRouter.DEAD_LETTER_QUEUE, false)) != null) {
+                    lastDeliveryTag = response.getEnvelope().getDeliveryTag();
+                    deadLetters.add(mapToDeadLetterResponse(toMessage(response)));
+                }
+            } finally {
+                if (lastDeliveryTag >= 0) {
+                    channel.basicNack(lastDeliveryTag, true, true);
+                }
+            }
+            return deadLetters;
+        });
+    }
+
+    @Override
+    public long countDeadLetters() {
+        return rabbitTemplate.execute(channel -> channel.messageCount(ReviewRetryRouter.DEAD_LETTER_QUEUE));
+    }
+
+    @Override
+    public DeadLetterReplayResponse replayDeadLetters(Integer limit) {
+        int count = resolveLimit(limit);
+        return rabbitTemplate.execute(channel -> {
+            int replayed = 0;
+            long lastDeliveryTag = -1;
+            try {
+                GetResponse response;
+                while (replayed < count
+                        && (response = channel.basicGet(ReviewRetryRouter.DEAD_LETTER_QUEUE, false)) != null) {
+                    lastDeliveryTag = response.getEnvelope().getDeliveryTag();
+                    republish(channel, toMessage(response));
+                    replayed++;
+                }
+                if (lastDeliveryTag >= 0) {
+                    channel.waitForConfirmsOrDie(confirmTimeout.toMillis());
+                    channel.basicAck(lastDeliveryTag, true);
+                }
+            } catch (Exception e) {
+                if (lastDeliveryTag >= 0 && channel.isOpen()) {
+                    channel.basicNack(lastDeliveryTag, true, true);
+                }
+                throw e;
+            }
+            logger.info("Replayed {} dead-lettered review messages", replayed);
+            return new DeadLetterReplayResponse(replayed, channel.messageCount(ReviewRetryRouter.DEAD_LETTER_QUEUE));
+        });
+    }
+
+    // A replayed message starts over with a full set of attempts
+    private void republish(Channel channel, Message message) throws IOException {
+        MessageProperties properties = message.getMessageProperties();
+        properties.getHeaders().remove(ReviewRetryRouter.ATTEMPTS_HEADER);
+        properties.getHeaders().remove(ReviewRetryRouter.ERROR_HEADER);
+        properties.getHeaders().remove(ReviewRetryRouter.DEAD_LETTERED_AT_HEADER);
+        properties.getHeaders().remove("x-death");
+        ReviewPartitions.restorePartitionKey(messageConverter, message);
+        channel.basicPublish(ReviewPartitions.EXCHANGE, "", false,
+                messagePropertiesConverter.fromMessageProperties(properties, ENCODING), message.getBody());
+    }
+
+    private Message toMessage(GetResponse response) {
+        MessageProperties properties = messagePropertiesConverter.toMessageProperties(
+                response.getProps(), response.getEnvelope(), ENCODING);
+        return new Message(response.getBody(), properties);
+    }
+
+    private DeadLetterResponse mapToDeadLetterResponse(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        return new DeadLetterResponse(
+                properties.getMessageId(),
+                readReview(message),
+                ReviewRetryRouter.attempts(properties),
+                readString(properties.getHeader(ReviewRetryRouter.ERROR_HEADER)),
+                readInstant(properties.getHeader(ReviewRetryRouter.DEAD_LETTERED_AT_HEADER))
+        );
+    }
+
+    private ReviewMessage readReview(Message message) {
+        message.getMessageProperties().setInferredArgumentType(ReviewMessage.class);
+        try {
+            return messageConverter.fromMessage(message) instanceof ReviewMessage review ? review : null;
+        } catch (MessageConversionException e) {
+            return null;
+        }
+    }
+
+    private static String readString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static Instant readInstant(Object value) {
+        try {
+            return value == null ? null : Instant.parse(value.toString());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private int resolveLimit(Integer limit) {
+        int requested = limit == null ? defaultLimit : limit;
+        return Math.max(1, Math.min(requested, maxLimit));
+    }
+}
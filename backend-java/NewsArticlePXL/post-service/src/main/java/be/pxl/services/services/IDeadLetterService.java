@@ -0,0 +1,12 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.dto.response.DeadLetterReplayResponse;
+import be.pxl.services.domain.dto.response.DeadLetterResponse;
+
+import java.util.List;
+
+public interface IDeadLetterService {
+    List<DeadLetterResponse> getDeadLetters(Integer limit);
+    long countDeadLetters();
+    DeadLetterReplayResponse replayDeadLetters(Integer limit);
+}
@@ -0,0 +1,12 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.dto.response.PostEventReplayResponse;
+import be.pxl.services.domain.dto.response.PostStatusEventResponse;
+
+import java.util.List;
+import java.util.Set;
+
+public interface IPostEventService {
+    List<PostStatusEventResponse> getEvents(Long fromOffset, Integer size);
+    PostEventReplayResponse replay(Long fromOffset, Set<String> readModels);
+}
@@ -2,21 +2,41 @@ package be.pxl.services.services;
 
 import be.pxl.services.domain.dto.request.NotificationRequest;
 import be.pxl.services.domain.dto.request.PostRequest;
+import be.pxl.services.domain.dto.response.CursorPage;
 import be.pxl.services.domain.dto.response.NotificationResponse;
 import be.pxl.services.domain.dto.response.PostResponse;
+import be.pxl.services.domain.dto.response.PostStatsResponse;
+import be.pxl.services.domain.dto.response.PostSummaryResponse;
 import be.pxl.services.enums.Status;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IPostService {
     PostResponse createPost(PostRequest postRequest);
+    List<PostResponse> createPosts(List<PostRequest> postRequests);
     PostResponse updatePost(Long postId, PostRequest postRequest);
-    List<PostResponse> getPostsByStatus(Status status);
+    PostResponse updatePost(Long postId, PostRequest postRequest, Long expectedVersion);
+    CursorPage<PostResponse> getPostsByStatus(Status status, String cursor, Integer size);
+    CursorPage<PostSummaryResponse> getPostSummariesByStatus(Status status, String cursor, Integer size);
+    PostStatsResponse getPostStatistics();
     PostResponse getPostById(Long postId);
+    List<PostResponse> getPostsByIds(List<Long> postIds);
+    Long getPostVersion(Long postId);
     PostResponse updateStatus(Long postId, Status status);
-    List<PostResponse> getAllPosts(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status);
+    CursorPage<PostResponse> getAllPosts(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status,
+                                         String cursor, Integer size);
+    CursorPage<PostSummaryResponse> getPostSummaries(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status,
+                                                     String cursor, Integer size);
+    void streamPosts(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status,
+                     Consumer<PostResponse> consumer);
     void getNotification(NotificationRequest notificationRequest);
-    List<NotificationResponse> getNotificationsForAuthor(String author);
+    CursorPage<NotificationResponse> getNotificationsForAuthor(String author, boolean unreadOnly, String cursor, Integer size);
+    long getUnreadNotificationCount(String author);
+    int markNotificationsAsRead(String author, List<Long> notificationIds);
+    SseEmitter streamNotifications(String author);
 
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.ProcessedMessage;
+import be.pxl.services.repository.ProcessedMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Drops redelivered messages before a listener touches its repositories.
+ * Recently handled message ids are kept in memory in time buckets: a new bucket starts every
+ * messaging.dedup.window / messaging.dedup.buckets (or when the current one is full) and the oldest is dropped,
+ * so memory stays bounded by messaging.dedup.max-entries. Ids that fell out of memory, or were handled by
+ * another replica, are found in the processed_message table, which is written in the listener's transaction:
+ * a message counts as handled exactly when its changes committed.
+ */
+@Component
+public class MessageDeduplicator {
+    private static final Logger logger = LoggerFactory.getLogger(MessageDeduplicator.class);
+
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final Counter duplicates;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int maxBucketEntries;
+    private final Duration retention;
+    private final Deque<Set<String>> buckets = new ConcurrentLinkedDeque<>();
+    private volatile long bucketStartedAt;
+
+    public MessageDeduplicator(ProcessedMessageRepository processedMessageRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${messaging.dedup.window:PT15M}") Duration window,
+                               @Value("${messaging.dedup.buckets:15}") int bucketCount,
+                               @Value("${messaging.dedup.max-entries:150000}") int maxEntries,
+                               @Value("${messaging.dedup.retention:P7D}") Duration retention) {
+        this.processedMessageRepository = processedMessageRepository;
+        this.duplicates = Counter.builder("messaging.dedup.duplicates")
+                .description("Redelivered messages dropped before handling")
+                .register(meterRegistry);
+        this.bucketCount = Math.max(1, bucketCount);
+        this.bucketMillis = window.toMillis() / this.bucketCount;
+        this.maxBucketEntries = Math.max(1, maxEntries / this.bucketCount);
+        this.retention = retention;
+    }
+
+    /**
+     * Payloads of the messages that were not handled before, in order, and records their ids as handled
+     * in the current transaction. Messages without an id are always passed on.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<T> firstDeliveries(List<Message<T>> messages) {
+        return firstDeliveryMessages(messages).stream()
+                .map(Message::getPayload)
+                .toList();
+    }
+
+    /**
+     * {@link #firstDeliveries}, keeping the headers of the messages for listeners that need them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<Message<T>> firstDeliveryMessages(List<Message<T>> messages) {
+        Set<String> processed = findProcessed(messages.stream()
+                .map(MessageDeduplicator::messageId)
+                .filter(Objects::nonNull)
+                .toList());
+        Set<String> accepted = new LinkedHashSet<>();
+        List<Message<T>> firstDeliveries = new ArrayList<>(messages.size());
+        for (Message<T> message : messages) {
+            String messageId = messageId(message);
+            if (messageId == null || (!processed.contains(messageId) && accepted.add(messageId))) {
+                firstDeliveries.add(message);
+            }
+        }
+        int dropped = messages.size() - firstDeliveries.size();
+        if (dropped > 0) {
+            duplicates.increment(dropped);
+            logger.info("Dropped {} redelivered messages", dropped);
+        }
+        markProcessed(accepted);
+        return firstDeliveries;
+    }
+
+    /**
+     * Whether the message with this id was not handled before; if so its id is recorded as handled
+     * in the current transaction. A message without an id is always a first delivery.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean firstDelivery(String messageId) {
+        if (messageId == null) {
+            return true;
+        }
+        if (!findProcessed(List.of(messageId)).isEmpty()) {
+            duplicates.increment();
+            logger.info("Dropped redelivered message {}", messageId);
+            return false;
+        }
+        markProcessed(List.of(messageId));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.dedup.purge-interval:PT1H}")
+    public void purge() {
+        int purged = processedMessageRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} processed message ids older than {}", purged, retention);
+        }
+    }
+
+    private Set<String> findProcessed(Collection<String> messageIds) {
+        Set<String> processed = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String messageId : messageIds) {
+            if (seenRecently(messageId)) {
+                processed.add(messageId);
+            } else {
+                unknown.add(messageId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            List<String> stored = processedMessageRepository.findProcessedIds(unknown);
+            stored.forEach(this::remember);
+            processed.addAll(stored);
+        }
+        return processed;
+    }
+
+    private void markProcessed(Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime processedAt = LocalDateTime.now();
+        processedMessageRepository.saveAll(messageIds.stream()
+                .map(messageId -> new ProcessedMessage(messageId, processedAt))
+                .toList());
+        // Only remember ids once the changes they stand for are committed; a rollback means a real redelivery
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<String> committed = List.copyOf(messageIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.forEach(MessageDeduplicator.this::remember);
+                }
+            });
+        } else {
+            messageIds.forEach(this::remember);
+        }
+    }
+
+    private boolean seenRecently(String messageId) {
+        for (Set<String> bucket : buckets) {
+            if (bucket.contains(messageId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remember(String messageId) {
+        currentBucket().add(messageId);
+    }
+
+    private Set<String> currentBucket() {
+        Set<String> bucket = buckets.peekFirst();
+        long now = System.currentTimeMillis();
+        if (bucket != null && now - bucketStartedAt < bucketMillis && bucket.size() < maxBucketEntries) {
+            return bucket;
+        }
+        synchronized (buckets) {
+            bucket = buckets.peekFirst();
+            if (bucket == null || now - bucketStartedAt >= bucketMillis || bucket.size() >= maxBucketEntries) {
+                bucket = ConcurrentHashMap.newKeySet();
+                buckets.addFirst(bucket);
+                bucketStartedAt = now;
+                while (buckets.size() > bucketCount) {
+                    buckets.pollLast();
+                }
+            }
+            return bucket;
+        }
+    }
+
+    private static String messageId(Message<?> message) {
+        return message.getHeaders().get(AmqpHeaders.MESSAGE_ID, String.class);
+    }
+}
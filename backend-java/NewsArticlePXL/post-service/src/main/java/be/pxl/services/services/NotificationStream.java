@@ -0,0 +1,76 @@
+package be.pxl.services.services;
+
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.dto.response.NotificationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-Sent Events subscriptions per post author.
+ * New notifications are broadcast over {@link RabbitMQConfig#NOTIFICATION_EXCHANGE}, so an author receives them
+ * no matter which post-service replica stored the notification or holds the connection.
+ */
+@Component
+public class NotificationStream {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStream.class);
+    private final Map<String, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final RabbitTemplate rabbitTemplate;
+    private final long timeoutMillis;
+
+    public NotificationStream(RabbitTemplate rabbitTemplate,
+                              @Value("${notifications.stream.timeout:PT30M}") Duration timeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe(String author) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.computeIfAbsent(author, a -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(author, emitter));
+        emitter.onTimeout(() -> unsubscribe(author, emitter));
+        emitter.onError(error -> unsubscribe(author, emitter));
+        logger.debug("Author {} subscribed to notifications", author);
+        return emitter;
+    }
+
+    public void publish(NotificationResponse notification) {
+        rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, "", notification);
+    }
+
+    @RabbitListener(queues = "#{notificationBroadcastQueue.name}")
+    public void onNotification(NotificationResponse notification) {
+        Set<SseEmitter> subscribers = emitters.get(notification.getPostAuthor());
+        if (subscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(notification.getId()))
+                        .name("notification")
+                        .data(notification));
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping closed notification stream of author {}", notification.getPostAuthor());
+                unsubscribe(notification.getPostAuthor(), emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(String author, SseEmitter emitter) {
+        emitters.computeIfPresent(author, (a, subscribers) -> {
+            subscribers.remove(emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package be.pxl.services.services;
+
+import be.pxl.services.config.CompactMessageConverter;
+import be.pxl.services.domain.OutboxEvent;
+import be.pxl.services.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records messages for {@link OutboxRelay} instead of sending them to the broker directly.
+ * Has to be called inside the transaction of the change the message belongs to, so both commit or neither does.
+ * Payloads are encoded here, as JSON or, with messaging.codec=compact, with {@link CompactMessageConverter}
+ * for the message types it knows.
+ */
+@Component
+@RequiredArgsConstructor
+public class Outbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${messaging.codec:json}")
+    private String codec = "json";
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String destination, Object payload) {
+        boolean compact = "compact".equalsIgnoreCase(codec) && CompactMessageConverter.supports(payload);
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .destination(destination)
+                    .payloadType(payload.getClass().getName())
+                    .contentType(compact ? CompactMessageConverter.CONTENT_TYPE : MessageProperties.CONTENT_TYPE_JSON)
+                    .payload(compact ? CompactMessageConverter.encode(payload) : objectMapper.writeValueAsBytes(payload))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize message for " + destination, e);
+        }
+    }
+}
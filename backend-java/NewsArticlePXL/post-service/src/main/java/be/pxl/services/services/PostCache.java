@@ -0,0 +1,62 @@
+package be.pxl.services.services;
+
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.dto.response.PostResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded read-through cache for single posts.
+ * Writes invalidate the local entry and broadcast the post id over {@link RabbitMQConfig#POST_CACHE_EXCHANGE}
+ * so the other post-service replicas drop theirs as well, and every {@link PostSearchIndex} re-indexes the post.
+ * Hit/miss/eviction counts are exported as cache.* metrics.
+ */
+@Component
+public class PostCache {
+    private static final Logger logger = LoggerFactory.getLogger(PostCache.class);
+    private final Cache<Long, PostResponse> cache;
+    private final RabbitTemplate rabbitTemplate;
+
+    public PostCache(RabbitTemplate rabbitTemplate,
+                     MeterRegistry meterRegistry,
+                     @Value("${posts.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${posts.cache.ttl:PT5M}") Duration ttl) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "posts");
+    }
+
+    public Optional<PostResponse> get(Long postId) {
+        return Optional.ofNullable(cache.getIfPresent(postId));
+    }
+
+    public void put(PostResponse post) {
+        cache.put(post.getId(), post);
+    }
+
+    public void invalidate(Long postId) {
+        cache.invalidate(postId);
+        rabbitTemplate.convertAndSend(RabbitMQConfig.POST_CACHE_EXCHANGE, "", postId);
+    }
+
+    @RabbitListener(queues = "#{postCacheInvalidationQueue.name}")
+    public void onInvalidation(Long postId) {
+        logger.debug("Evicting post with ID: {} from cache", postId);
+        cache.invalidate(postId);
+    }
+}
@@ -0,0 +1,41 @@
+package be.pxl.services.services;
+
+import be.pxl.services.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position handed out as {@code nextCursor}.
+ * Listings and text searches are both ordered on (creationDate, id), descending; a search only ranks the hits of a
+ * page by score, since scores shift whenever a post is indexed or removed.
+ */
+public record PostCursor(LocalDateTime creationDate, Long id) {
+    private static final String DATE_KEY = "d";
+
+    public static PostCursor afterDate(LocalDateTime creationDate, Long id) {
+        return new PostCursor(creationDate, id);
+    }
+
+    public String encode() {
+        String raw = DATE_KEY + "|" + creationDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length == 3 && parts[0].equals(DATE_KEY)) {
+                return afterDate(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // fall through to the invalid cursor below
+        }
+        throw new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+}
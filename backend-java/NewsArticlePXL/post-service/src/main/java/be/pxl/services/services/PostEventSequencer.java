@@ -0,0 +1,75 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.PostStatusEvent;
+import be.pxl.services.repository.OutboxEventRepository;
+import be.pxl.services.repository.PostStatusEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hands out the offsets of the post status log. Appends only insert their event, so status changes of different
+ * posts never wait for each other; this numbers the events that committed since its last run after the highest
+ * offset so far, one batch per transaction, on one replica at a time: it holds the outbox_relay_lock row like
+ * {@link OutboxRelay}. Readers only see events that have an offset, so once they see one, every lower one is there too.
+ * The events of one post get their offsets in the order of its versions, whichever replica appended them.
+ */
+@Component
+public class PostEventSequencer {
+    private static final Logger logger = LoggerFactory.getLogger(PostEventSequencer.class);
+    private final PostStatusEventRepository postStatusEventRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PostEventSequencer(PostStatusEventRepository postStatusEventRepository,
+                              OutboxEventRepository outboxEventRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${posts.events.sequencer.batch-size:500}") int batchSize) {
+        this.postStatusEventRepository = postStatusEventRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${posts.events.sequencer.interval:PT0.5S}")
+    public void run() {
+        try {
+            sequence();
+        } catch (RuntimeException e) {
+            logger.error("Sequencing post status events failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Gives every event that committed before this call its offset.
+     */
+    public void sequence() {
+        int sequenced;
+        do {
+            sequenced = transactionTemplate.execute(status -> sequenceBatch());
+        } while (sequenced == batchSize);
+    }
+
+    private int sequenceBatch() {
+        outboxEventRepository.lockRelay();
+        List<PostStatusEvent> events = postStatusEventRepository.findUnsequenced(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Long lastOffset = postStatusEventRepository.findLastOffset();
+        long offset = lastOffset == null ? 0L : lastOffset;
+        for (PostStatusEvent event : events) {
+            event.assignOffset(++offset);
+        }
+        // Managed entities, so the offsets go out as one batch of updates at commit
+        logger.debug("Sequenced {} post status events up to offset {}", events.size(), offset);
+        return events.size();
+    }
+}
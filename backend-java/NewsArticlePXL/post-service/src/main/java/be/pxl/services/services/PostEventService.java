@@ -0,0 +1,209 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostStatusEvent;
+import be.pxl.services.domain.dto.response.PostEventReplayResponse;
+import be.pxl.services.domain.dto.response.PostStatusEventResponse;
+import be.pxl.services.enums.Status;
+import be.pxl.services.exceptions.InvalidReplayException;
+import be.pxl.services.exceptions.ReplayInProgressException;
+import be.pxl.services.repository.PostStatusEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only log of post status changes, and rebuilds of the {@link PostReadModel}s from it.
+ * A replay first reads the log from the requested offset up to the last offset at its start in
+ * posts.events.replay.chunk-size offset ranges, reducing them to the latest event per post, then hands
+ * those to the read models in chunks of the same size; both phases run posts.events.replay.parallelism
+ * chunks at a time. The read models begin their replay before the pending events are sequenced and the last offset
+ * is read, so every change that commits after that reaches them through the live path, and a model that swaps in
+ * what it rebuilt keeps those changes on top of it.
+ */
+@Service
+public class PostEventService implements IPostEventService {
+    private static final Logger logger = LoggerFactory.getLogger(PostEventService.class);
+
+    private final PostStatusEventRepository postStatusEventRepository;
+    private final PostEventSequencer postEventSequencer;
+    private final Map<String, PostReadModel> readModels;
+    private final int chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    @Value("${posts.events.page.default-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${posts.events.page.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    public PostEventService(PostStatusEventRepository postStatusEventRepository, PostEventSequencer postEventSequencer,
+                            List<PostReadModel> readModels,
+                            @Value("${posts.events.replay.chunk-size:1000}") int chunkSize,
+                            @Value("${posts.events.replay.parallelism:4}") int parallelism) {
+        this.postStatusEventRepository = postStatusEventRepository;
+        this.postEventSequencer = postEventSequencer;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.readModels = readModels.stream()
+                .collect(Collectors.toMap(PostReadModel::name, Function.identity(), (a, b) -> a, TreeMap::new));
+    }
+
+    /**
+     * Appends without an offset; {@link PostEventSequencer} gives it one once the caller's transaction committed.
+     * The post must be flushed, so its version is the one after the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Post post, Status previousStatus, LocalDateTime occurredAt) {
+        postStatusEventRepository.save(PostStatusEvent.builder()
+                .postId(post.getId())
+                .postVersion(post.getVersion())
+                .author(post.getAuthor())
+                .previousStatus(previousStatus)
+                .status(post.getStatus())
+                .occurredAt(occurredAt)
+                .build());
+    }
+
+    @Override
+    public List<PostStatusEventResponse> getEvents(Long fromOffset, Integer size) {
+        int pageSize = Math.max(1, Math.min(size == null ? defaultPageSize : size, maxPageSize));
+        return postStatusEventRepository.findByLogOffsetGreaterThanEqualOrderByLogOffsetAsc(
+                        fromOffset == null ? 0L : fromOffset, PageRequest.of(0, pageSize)).stream()
+                .map(this::mapToPostStatusEventResponse)
+                .toList();
+    }
+
+    @Override
+    public PostEventReplayResponse replay(Long fromOffset, Set<String> names) {
+        long from = fromOffset == null ? 0L : fromOffset;
+        List<PostReadModel> models = resolveReadModels(names);
+        Long firstOffset = postStatusEventRepository.findFirstOffset();
+        boolean fromStart = firstOffset == null || from <= firstOffset;
+        for (PostReadModel model : models) {
+            if (!fromStart && !model.supportsPartialReplay()) {
+                throw new InvalidReplayException("Read model " + model.name() + " can only be replayed from the start");
+            }
+        }
+        if (!replaying.compareAndSet(false, true)) {
+            throw new ReplayInProgressException("A replay is already running");
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            models.forEach(model -> model.beginReplay(fromStart));
+            // Changes that committed before the replay began may still be waiting for their offset
+            postEventSequencer.sequence();
+            Long toOffset = postStatusEventRepository.findLastOffset();
+            logger.info("Replaying post status events {} to {} into {}", from, toOffset,
+                    models.stream().map(PostReadModel::name).toList());
+            AtomicLong events = new AtomicLong();
+            long readFrom = firstOffset == null ? from : Math.max(from, firstOffset);
+            Map<Long, PostStatusEvent> latest = toOffset == null
+                    ? Map.of()
+                    : readLatestEvents(executor, readFrom, toOffset, events);
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (List<PostStatusEvent> chunk : chunks(new ArrayList<>(latest.values()))) {
+                for (PostReadModel model : models) {
+                    tasks.add(() -> {
+                        model.replay(chunk);
+                        return null;
+                    });
+                }
+            }
+            runAll(executor, tasks);
+            models.forEach(PostReadModel::endReplay);
+
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.info("Replayed {} post status events for {} posts in {} ms", events.get(), latest.size(), durationMillis);
+            return new PostEventReplayResponse(models.stream().map(PostReadModel::name).toList(),
+                    from, toOffset, events.get(), latest.size(), durationMillis);
+        } finally {
+            executor.shutdownNow();
+            replaying.set(false);
+        }
+    }
+
+    private Map<Long, PostStatusEvent> readLatestEvents(ExecutorService executor, long from, long to, AtomicLong events) {
+        Map<Long, PostStatusEvent> latest = new ConcurrentHashMap<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (long chunkStart = from; chunkStart <= to; chunkStart += chunkSize) {
+            long chunkEnd = Math.min(to, chunkStart + chunkSize - 1);
+            long rangeStart = chunkStart;
+            tasks.add(() -> {
+                List<PostStatusEvent> chunk = postStatusEventRepository.findByLogOffsetBetweenOrderByLogOffsetAsc(rangeStart, chunkEnd);
+                for (PostStatusEvent event : chunk) {
+                    latest.merge(event.getPostId(), event, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+                }
+                events.addAndGet(chunk.size());
+                return null;
+            });
+        }
+        runAll(executor, tasks);
+        return latest;
+    }
+
+    private List<PostReadModel> resolveReadModels(Set<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new ArrayList<>(readModels.values());
+        }
+        List<PostReadModel> models = new ArrayList<>();
+        for (String name : names) {
+            PostReadModel model = readModels.get(name);
+            if (model == null) {
+                throw new InvalidReplayException("Unknown read model " + name + ", expected one of " + readModels.keySet());
+            }
+            models.add(model);
+        }
+        return models;
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += chunkSize) {
+            chunks.add(items.subList(i, Math.min(items.size(), i + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static void runAll(ExecutorService executor, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException("Replay failed", e.getCause());
+        }
+    }
+
+    private PostStatusEventResponse mapToPostStatusEventResponse(PostStatusEvent event) {
+        return new PostStatusEventResponse(
+                event.getLogOffset(),
+                event.getPostId(),
+                event.getAuthor(),
+                event.getPreviousStatus(),
+                event.getStatus(),
+                event.getOccurredAt()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.PostStatusEvent;
+
+import java.util.List;
+
+/**
+ * A structure derived from the posts that {@link PostEventService} can rebuild from the post status log.
+ * A replay hands it the latest event of every post changed since the replay's offset, in chunks that
+ * are applied concurrently and in no particular order.
+ */
+public interface PostReadModel {
+    String name();
+
+    // Models that cannot be patched with only the posts changed since an offset must be rebuilt from the start
+    default boolean supportsPartialReplay() {
+        return true;
+    }
+
+    // Called before the log is read: live changes from here on are not part of the replay and must survive endReplay
+    void beginReplay(boolean fromStart);
+
+    void replay(List<PostStatusEvent> latestEvents);
+
+    void endReplay();
+}
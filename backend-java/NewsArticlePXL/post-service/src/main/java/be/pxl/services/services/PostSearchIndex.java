@@ -0,0 +1,345 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostStatusEvent;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over post content and author.
+ * Rebuilt from the post table on startup and kept up to date from the post change broadcast on
+ * {@link be.pxl.services.config.RabbitMQConfig#POST_CACHE_EXCHANGE}, which every replica receives after a write
+ * commits, so text search only touches the postings of the query terms instead of scanning the table.
+ * A replay of the post status log re-indexes the posts it covers; one from the start clears the index first.
+ * A post is never replaced by an older version of itself, whichever of these paths reads it last.
+ */
+@Component
+public class PostSearchIndex implements PostReadModel {
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // BM25 tuning parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final PostRepository postRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Integer>> contentPostings = new TreeMap<>();
+    private final NavigableMap<String, Map<Long, Integer>> authorPostings = new TreeMap<>();
+    private final Map<Long, IndexedPost> documents = new HashMap<>();
+    private long totalContentLength;
+
+    public PostSearchIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    public record SearchHit(Long postId, double score, LocalDateTime creationDate) {
+    }
+
+    // Highest score first, ties broken on the newest post id
+    public static final Comparator<SearchHit> BY_RELEVANCE = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparing(SearchHit::postId, Comparator.reverseOrder());
+
+    // Keyset order of the post listings; posts without a creation date come last
+    private static final Comparator<SearchHit> NEWEST_FIRST = Comparator
+            .comparing(SearchHit::creationDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(SearchHit::postId, Comparator.reverseOrder());
+
+    private record IndexedPost(Map<String, Integer> contentTerms, Map<String, Integer> authorTerms,
+                               int contentLength, Status status, LocalDateTime creationDate, Long version) {
+    }
+
+    // Holds the write lock across the reads too: searches wait for the full index, and a change picked up
+    // from the broadcast meanwhile is applied after the rebuild instead of being overwritten by it
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            logger.info("Rebuilding post search index");
+            clear();
+
+            long lastId = 0L;
+            int indexed = 0;
+            List<Post> batch;
+            do {
+                batch = postRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Post post : batch) {
+                    index(post);
+                    lastId = post.getId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            logger.info("Post search index rebuilt with {} posts", indexed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @RabbitListener(queues = "#{postIndexQueue.name}")
+    public void onPostChanged(Long postId) {
+        logger.debug("Re-indexing post with ID: {}", postId);
+        postRepository.findById(postId).ifPresentOrElse(this::index, () -> remove(postId));
+    }
+
+    @Override
+    public String name() {
+        return "search-index";
+    }
+
+    @Override
+    public void beginReplay(boolean fromStart) {
+        if (fromStart) {
+            clear();
+        }
+    }
+
+    @Override
+    public void replay(List<PostStatusEvent> latestEvents) {
+        List<Long> postIds = latestEvents.stream().map(PostStatusEvent::getPostId).toList();
+        postRepository.findAllById(postIds).forEach(this::index);
+    }
+
+    @Override
+    public void endReplay() {
+        lock.readLock().lock();
+        try {
+            logger.info("Post search index replayed, {} posts indexed", documents.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            contentPostings.clear();
+            authorPostings.clear();
+            documents.clear();
+            totalContentLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Post post) {
+        if (post.getId() == null) {
+            return;
+        }
+        List<String> contentTokens = tokenize(post.getContent());
+        IndexedPost indexedPost = new IndexedPost(
+                termFrequencies(contentTokens),
+                termFrequencies(tokenize(post.getAuthor())),
+                contentTokens.size(),
+                post.getStatus(),
+                post.getCreationDate(),
+                post.getVersion()
+        );
+
+        lock.writeLock().lock();
+        try {
+            IndexedPost current = documents.get(post.getId());
+            if (current != null && isNewer(current.version(), post.getVersion())) {
+                return;
+            }
+            removeUnlocked(post.getId());
+            documents.put(post.getId(), indexedPost);
+            totalContentLength += indexedPost.contentLength();
+            addPostings(contentPostings, post.getId(), indexedPost.contentTerms());
+            addPostings(authorPostings, post.getId(), indexedPost.authorTerms());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Every query term has to match (as a prefix of) an indexed term of the post.
+     * Hits are ranked by their BM25 score, highest first, ties broken on the newest post id.
+     */
+    public List<SearchHit> search(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status) {
+        lock.readLock().lock();
+        try {
+            List<SearchHit> hits = matches(content, author, fromDate, toDate, status);
+            hits.sort(BY_RELEVANCE);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} newest hits of {@link #search} that come after the keyset position
+     * ({@code afterDate}, {@code afterId}), newest first, without ranking every hit. Paging on the creation date
+     * keeps the pages stable while other posts are indexed, which changes the scores.
+     */
+    public List<SearchHit> searchNewest(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status,
+                                        LocalDateTime afterDate, Long afterId, int limit) {
+        SearchHit after = afterId == null ? null : new SearchHit(afterId, 0, afterDate);
+        PriorityQueue<SearchHit> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+        lock.readLock().lock();
+        try {
+            for (SearchHit hit : matches(content, author, fromDate, toDate, status)) {
+                if (after != null && NEWEST_FIRST.compare(hit, after) <= 0) {
+                    continue;
+                }
+                newest.add(hit);
+                if (newest.size() > limit) {
+                    newest.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<SearchHit> hits = new ArrayList<>(newest);
+        hits.sort(NEWEST_FIRST);
+        return hits;
+    }
+
+    // Callers hold the read lock
+    private List<SearchHit> matches(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status) {
+        List<String> contentQuery = tokenize(content);
+        List<String> authorQuery = tokenize(author);
+        if (contentQuery.isEmpty() && authorQuery.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Double> scores = null;
+        for (String term : contentQuery) {
+            scores = intersect(scores, scoreTerm(contentPostings, term, true));
+            if (scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        for (String term : authorQuery) {
+            scores = intersect(scores, scoreTerm(authorPostings, term, false));
+            if (scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            IndexedPost indexedPost = documents.get(entry.getKey());
+            if (matchesFilters(indexedPost, fromDate, toDate, status)) {
+                hits.add(new SearchHit(entry.getKey(), entry.getValue(), indexedPost.creationDate()));
+            }
+        }
+        return hits;
+    }
+
+    private Map<Long, Double> scoreTerm(NavigableMap<String, Map<Long, Integer>> postings, String term, boolean normalizeLength) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        double averageLength = documentCount == 0 ? 0 : (double) totalContentLength / documentCount;
+
+        for (Map<Long, Integer> termPostings : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+            double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+                int frequency = posting.getValue();
+                double lengthNorm = normalizeLength && averageLength > 0
+                        ? 1 - B + B * documents.get(posting.getKey()).contentLength() / averageLength
+                        : 1;
+                double score = idf * frequency * (K1 + 1) / (frequency + K1 * lengthNorm);
+                scores.merge(posting.getKey(), score, Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> current, Map<Long, Double> termScores) {
+        if (current == null) {
+            return termScores;
+        }
+        Map<Long, Double> smaller = current.size() <= termScores.size() ? current : termScores;
+        Map<Long, Double> larger = smaller == current ? termScores : current;
+        Map<Long, Double> result = new HashMap<>();
+        for (Map.Entry<Long, Double> entry : smaller.entrySet()) {
+            Double other = larger.get(entry.getKey());
+            if (other != null) {
+                result.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return result;
+    }
+
+    private static boolean matchesFilters(IndexedPost post, LocalDateTime fromDate, LocalDateTime toDate, Status status) {
+        if (status != null && post.status() != status) {
+            return false;
+        }
+        if (fromDate != null && (post.creationDate() == null || post.creationDate().isBefore(fromDate))) {
+            return false;
+        }
+        return toDate == null || (post.creationDate() != null && !post.creationDate().isAfter(toDate));
+    }
+
+    private static boolean isNewer(Long indexedVersion, Long version) {
+        return indexedVersion != null && version != null && indexedVersion > version;
+    }
+
+    private void removeUnlocked(Long postId) {
+        IndexedPost previous = documents.remove(postId);
+        if (previous == null) {
+            return;
+        }
+        totalContentLength -= previous.contentLength();
+        removePostings(contentPostings, postId, previous.contentTerms());
+        removePostings(authorPostings, postId, previous.authorTerms());
+    }
+
+    private static void addPostings(Map<String, Map<Long, Integer>> postings, Long postId, Map<String, Integer> terms) {
+        terms.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(postId, frequency));
+    }
+
+    private static void removePostings(Map<String, Map<Long, Integer>> postings, Long postId, Map<String, Integer> terms) {
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(postId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(List<String> tokens) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        return frequencies;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(NON_WORD.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+}
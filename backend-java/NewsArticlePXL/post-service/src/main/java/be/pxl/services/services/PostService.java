@@ -2,37 +2,121 @@ package be.pxl.services.services;
 
 import be.pxl.services.domain.Notification;
 import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostSummary;
 import be.pxl.services.domain.dto.request.NotificationRequest;
+import be.pxl.services.domain.dto.response.CursorPage;
 import be.pxl.services.domain.dto.response.NotificationResponse;
 import be.pxl.services.domain.dto.response.ReviewMessage;
 import be.pxl.services.exceptions.InvalidStatusException;
+import be.pxl.services.exceptions.PreconditionFailedException;
 import be.pxl.services.domain.dto.request.PostRequest;
 import be.pxl.services.domain.dto.response.PostResponse;
+import be.pxl.services.domain.dto.response.PostStatsResponse;
+import be.pxl.services.domain.dto.response.PostStatusMessage;
+import be.pxl.services.domain.dto.response.PostSummaryResponse;
 import be.pxl.services.enums.Status;
 import be.pxl.services.exceptions.NotFoundException;
 import be.pxl.services.repository.NotificationRepository;
 import be.pxl.services.repository.PostRepository;
+import jakarta.persistence.EntityManager;
 import lombok.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PostService implements IPostService{
     private final PostRepository postRepository;
     private final NotificationRepository notificationRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final Outbox outbox;
+    private final PostSearchIndex postSearchIndex;
+    private final PostCache postCache;
+    private final PostStatistics postStatistics;
+    private final NotificationStream notificationStream;
+    private final ReviewConsumerMetrics reviewConsumerMetrics;
+    private final MessageDeduplicator messageDeduplicator;
+    private final EntityManager entityManager;
+    private final PostEventService postEventService;
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${posts.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${posts.page.max-size:200}")
+    private int maxPageSize = 200;
+
+    @Value("${posts.batch.max-size:1000}")
+    private int maxBatchSize = 1000;
 
     @Override
+    @Transactional
     public PostResponse createPost(PostRequest postRequest) {
         logger.info("Attempting to create a new post with title: {}", postRequest.getTitle());
+        validateNewPost(postRequest);
+
+        Post post = buildNewPost(postRequest, LocalDateTime.now());
+
+        postRepository.save(post);
+        AfterCommit.run(() -> postStatistics.recordCreated(post));
+        // Nothing is cached for a new post yet, but the broadcast is what gets it into every search index
+        AfterCommit.run(() -> postCache.invalidate(post.getId()));
+        logger.info("Post with ID: {} created successfully", post.getId());
+        recordStatus(post, null);
+        return mapToPostResponse(post);
+    }
+
+    @Override
+    @Transactional
+    public List<PostResponse> createPosts(List<PostRequest> postRequests) {
+        logger.info("Attempting to create a batch of {} posts", postRequests.size());
+        if (postRequests.isEmpty() || postRequests.size() > maxBatchSize) {
+            logger.error("Invalid batch size: {}", postRequests.size());
+            throw new IllegalArgumentException("A batch must contain between 1 and " + maxBatchSize + " posts");
+        }
+        postRequests.forEach(this::validateNewPost);
+
+        LocalDateTime creationDate = LocalDateTime.now();
+        List<Post> posts = postRequests.stream()
+                .map(postRequest -> buildNewPost(postRequest, creationDate))
+                .toList();
+        // Ids come from the pooled post_seq (and outbox_event_seq), so the inserts are JDBC-batched
+        postRepository.saveAll(posts);
+        AfterCommit.run(() -> posts.forEach(postStatistics::recordCreated));
+        AfterCommit.run(() -> posts.forEach(post -> postCache.invalidate(post.getId())));
+        logger.info("Batch of {} posts created successfully", posts.size());
+
+        posts.forEach(post -> recordStatus(post, null));
+        return posts.stream()
+                .map(this::mapToPostResponse)
+                .toList();
+    }
 
+    private void validateNewPost(PostRequest postRequest) {
         if (postRequest.getTitle() == null || postRequest.getContent() == null || postRequest.getAuthor() == null) {
             logger.error("Post request contains null fields");
             throw new IllegalArgumentException("Post fields cannot be null");
@@ -42,23 +126,28 @@ public class PostService implements IPostService{
             logger.error("Invalid initial status: {}", postRequest.getStatus());
             throw new InvalidStatusException("Invalid initial status. Only DRAFT or SUBMITTED are allowed.");
         }
+    }
 
-        Post post = Post.builder()
+    private Post buildNewPost(PostRequest postRequest, LocalDateTime creationDate) {
+        return Post.builder()
                 .title(postRequest.getTitle())
                 .content(postRequest.getContent())
+                .excerpt(createExcerpt(postRequest.getContent()))
                 .author(postRequest.getAuthor())
                 .status(postRequest.getStatus())
-                .creationDate(LocalDateTime.now())
+                .creationDate(creationDate)
                 .build();
-
-        postRepository.save(post);
-        logger.info("Post with ID: {} created successfully", post.getId());
-        rabbitTemplate.convertAndSend("postQueue", post.getId());
-        return mapToPostResponse(post);
     }
 
     @Override
+    @Transactional
     public PostResponse updatePost(Long postId, PostRequest postRequest) {
+        return updatePost(postId, postRequest, null);
+    }
+
+    @Override
+    @Transactional
+    public PostResponse updatePost(Long postId, PostRequest postRequest, Long expectedVersion) {
         logger.info("Attempting to update post with ID: {}", postId);
 
         if (postRequest.getStatus() == null) {
@@ -77,29 +166,78 @@ public class PostService implements IPostService{
             throw new InvalidStatusException("Invalid initial status. Only DRAFT or SUBMITTED are allowed.");
         }
 
+        if (expectedVersion != null && !expectedVersion.equals(post.getVersion())) {
+            logger.error("Post with ID: {} is at version {}, expected {}", postId, post.getVersion(), expectedVersion);
+            throw new PreconditionFailedException("Post with ID " + postId + " has been modified");
+        }
+
+        Status previousStatus = post.getStatus();
+        String previousAuthor = post.getAuthor();
         post.setTitle(postRequest.getTitle());
         post.setAuthor(postRequest.getAuthor());
         post.setContent(postRequest.getContent());
+        post.setExcerpt(createExcerpt(postRequest.getContent()));
         post.setStatus(postRequest.getStatus());
-        postRepository.save(post);
+        try {
+            // Flush inside the try, so a version that moved on since the post was read fails here and not at commit
+            post = postRepository.save(post);
+            postRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            logger.error("Post with ID: {} was modified concurrently", postId);
+            throw new PreconditionFailedException("Post with ID " + postId + " has been modified");
+        }
+        Post updated = post;
+        AfterCommit.run(() -> postStatistics.recordChanged(previousStatus, previousAuthor, updated));
+        AfterCommit.run(() -> postCache.invalidate(postId));
+        if (previousStatus != post.getStatus() || !Objects.equals(previousAuthor, post.getAuthor())) {
+            recordStatus(post, previousStatus);
+        }
 
         logger.info("Post with ID: {} updated successfully", postId);
         return mapToPostResponse(post);
     }
 
     @Override
-    public List<PostResponse> getPostsByStatus(Status status) {
+    public CursorPage<PostResponse> getPostsByStatus(Status status, String cursor, Integer size) {
         logger.info("Fetching posts with status: {}", status);
-        List<Post> posts = postRepository.findByStatus(status);
-        logger.debug("Found {} posts with status: {}", posts.size(), status);
-        return posts.stream()
+        PostCursor after = PostCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<PostResponse> posts = postRepository.findPageByStatus(
+                        status, cursorDate(after), cursorId(after), PageRequest.of(0, pageSize + 1)).stream()
                 .map(this::mapToPostResponse)
                 .toList();
+        logger.debug("Found {} posts with status: {}", posts.size(), status);
+        return toDatePage(posts, pageSize, PostResponse::getCreationDate, PostResponse::getId);
+    }
+
+    @Override
+    public CursorPage<PostSummaryResponse> getPostSummariesByStatus(Status status, String cursor, Integer size) {
+        logger.info("Fetching post summaries with status: {}", status);
+        PostCursor after = PostCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<PostSummaryResponse> posts = postRepository.findSummaryPageByStatus(
+                        status, cursorDate(after), cursorId(after), PageRequest.of(0, pageSize + 1)).stream()
+                .map(this::mapToPostSummaryResponse)
+                .toList();
+        logger.debug("Found {} post summaries with status: {}", posts.size(), status);
+        return toDatePage(posts, pageSize, PostSummaryResponse::getCreationDate, PostSummaryResponse::getId);
+    }
+
+    @Override
+    public PostStatsResponse getPostStatistics() {
+        logger.debug("Fetching post statistics");
+        return postStatistics.snapshot();
     }
 
     @Override
     public PostResponse getPostById(Long postId) {
         logger.info("Fetching post with ID: {}", postId);
+        Optional<PostResponse> cached = postCache.get(postId);
+        if (cached.isPresent()) {
+            logger.debug("Post with ID: {} served from cache", postId);
+            return cached.get();
+        }
+
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> {
                     logger.error("Post with ID: {} not found", postId);
@@ -107,10 +245,58 @@ public class PostService implements IPostService{
                 });
 
         logger.info("Post with ID: {} fetched successfully", postId);
-        return mapToPostResponse(post);
+        PostResponse postResponse = mapToPostResponse(post);
+        postCache.put(postResponse);
+        return postResponse;
+    }
+
+    /**
+     * Multi-get for callers that would otherwise call {@link #getPostById} once per post: cached posts are served
+     * from {@link PostCache}, the rest with one findAllById. Unknown ids are left out instead of failing the call.
+     */
+    @Override
+    public List<PostResponse> getPostsByIds(List<Long> postIds) {
+        List<Long> ids = postIds.stream().distinct().toList();
+        logger.info("Fetching a batch of {} posts", ids.size());
+        if (ids.isEmpty() || ids.size() > maxBatchSize) {
+            logger.error("Invalid batch size: {}", ids.size());
+            throw new IllegalArgumentException("A batch must contain between 1 and " + maxBatchSize + " posts");
+        }
+
+        Map<Long, PostResponse> postsById = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            postCache.get(id).ifPresentOrElse(post -> postsById.put(id, post), () -> misses.add(id));
+        }
+        if (!misses.isEmpty()) {
+            for (Post post : postRepository.findAllById(misses)) {
+                PostResponse postResponse = mapToPostResponse(post);
+                postCache.put(postResponse);
+                postsById.put(post.getId(), postResponse);
+            }
+        }
+        logger.info("Batch of {} posts fetched, {} from cache", postsById.size(), ids.size() - misses.size());
+        return ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
+    public Long getPostVersion(Long postId) {
+        Optional<PostResponse> cached = postCache.get(postId);
+        if (cached.isPresent() && cached.get().getVersion() != null) {
+            return cached.get().getVersion();
+        }
+        return postRepository.findVersionById(postId)
+                .orElseThrow(() -> {
+                    logger.error("Post with ID: {} not found", postId);
+                    return new NotFoundException("Post with ID " + postId + " not found");
+                });
+    }
+
+    @Override
+    @Transactional
     public PostResponse updateStatus(Long postId, Status status) {
         logger.info("Updating status of post with ID: {} to {}", postId, status);
         Post post = postRepository.findById(postId)
@@ -119,27 +305,169 @@ public class PostService implements IPostService{
                     return new NotFoundException("Post with ID " + postId + " not found");
                 });
 
+        Status previousStatus = post.getStatus();
         post.setStatus(status);
-        postRepository.save(post);
+        post = postRepository.save(post);
+        postRepository.flush();
+        Post updated = post;
+        AfterCommit.run(() -> postStatistics.recordChanged(previousStatus, updated.getAuthor(), updated));
+        AfterCommit.run(() -> postCache.invalidate(postId));
+        if (previousStatus != status) {
+            recordStatus(post, previousStatus);
+        }
 
         logger.info("Status of post with ID: {} updated to {}", postId, status);
         return mapToPostResponse(post);
     }
 
     @Override
-    public List<PostResponse> getAllPosts(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status) {
+    public CursorPage<PostResponse> getAllPosts(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status,
+                                                String cursor, Integer size) {
         logger.info("Fetching posts with filters - Content: {}, Author: {}, FromDate: {}, ToDate: {}, Status: {}",
                 content, author, fromDate, toDate, status);
-        List<Post> posts = postRepository.findFilteredPosts(
-                content == null || content.isBlank() ? null : content,
-                author == null || author.isBlank() ? null : author,
-                fromDate,
-                toDate, status
-        );
-        logger.debug("Found {} posts with given filters", posts.size());
-        return posts.stream()
-                .map(this::mapToPostResponse)
+        int pageSize = resolvePageSize(size);
+
+        if (!hasTextQuery(content, author)) {
+            PostCursor after = PostCursor.decode(cursor);
+            List<PostResponse> posts = postRepository.findFilteredPostsPage(
+                            fromDate, toDate, status, cursorDate(after), cursorId(after), PageRequest.of(0, pageSize + 1)).stream()
+                    .map(this::mapToPostResponse)
+                    .toList();
+            logger.debug("Found {} posts with given filters", posts.size());
+            return toDatePage(posts, pageSize, PostResponse::getCreationDate, PostResponse::getId);
+        }
+
+        return searchPage(content, author, fromDate, toDate, status, cursor, pageSize,
+                ids -> postRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Post::getId, this::mapToPostResponse)));
+    }
+
+    @Override
+    public CursorPage<PostSummaryResponse> getPostSummaries(String content, String author, LocalDateTime fromDate, LocalDateTime toDate,
+                                                            Status status, String cursor, Integer size) {
+        logger.info("Fetching post summaries with filters - Content: {}, Author: {}, FromDate: {}, ToDate: {}, Status: {}",
+                content, author, fromDate, toDate, status);
+        int pageSize = resolvePageSize(size);
+
+        if (!hasTextQuery(content, author)) {
+            PostCursor after = PostCursor.decode(cursor);
+            List<PostSummaryResponse> posts = postRepository.findFilteredSummariesPage(
+                            fromDate, toDate, status, cursorDate(after), cursorId(after), PageRequest.of(0, pageSize + 1)).stream()
+                    .map(this::mapToPostSummaryResponse)
+                    .toList();
+            logger.debug("Found {} post summaries with given filters", posts.size());
+            return toDatePage(posts, pageSize, PostSummaryResponse::getCreationDate, PostSummaryResponse::getId);
+        }
+
+        return searchPage(content, author, fromDate, toDate, status, cursor, pageSize,
+                ids -> postRepository.findSummariesByIdIn(ids).stream()
+                        .collect(Collectors.toMap(PostSummary::getId, this::mapToPostSummaryResponse)));
+    }
+
+    private <R> CursorPage<R> searchPage(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status,
+                                         String cursor, int pageSize, Function<List<Long>, Map<Long, R>> loader) {
+        PostCursor after = PostCursor.decode(cursor);
+        CursorPage<PostSearchIndex.SearchHit> hits = toDatePage(
+                postSearchIndex.searchNewest(content, author, fromDate, toDate, status, cursorDate(after), cursorId(after), pageSize + 1),
+                pageSize, PostSearchIndex.SearchHit::creationDate, PostSearchIndex.SearchHit::postId);
+
+        // The page is cut on (creationDate, id) like the listings; scores only rank the posts within it
+        List<Long> rankedIds = hits.getItems().stream()
+                .sorted(PostSearchIndex.BY_RELEVANCE)
+                .map(PostSearchIndex.SearchHit::postId)
+                .toList();
+        Map<Long, R> itemsById = loader.apply(rankedIds);
+        logger.debug("Found {} posts with given filters", itemsById.size());
+
+        List<R> items = rankedIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new CursorPage<>(items, hits.getNextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamPosts(String content, String author, LocalDateTime fromDate, LocalDateTime toDate, Status status,
+                            Consumer<PostResponse> consumer) {
+        logger.info("Streaming posts with filters - Content: {}, Author: {}, FromDate: {}, ToDate: {}, Status: {}",
+                content, author, fromDate, toDate, status);
+
+        if (!hasTextQuery(content, author)) {
+            try (Stream<Post> posts = postRepository.streamFilteredPosts(fromDate, toDate, status)) {
+                posts.forEach(post -> {
+                    consumer.accept(mapToPostResponse(post));
+                    entityManager.detach(post);
+                });
+            }
+            return;
+        }
+
+        List<Long> rankedIds = postSearchIndex.search(content, author, fromDate, toDate, status).stream()
+                .map(PostSearchIndex.SearchHit::postId)
                 .toList();
+        for (int from = 0; from < rankedIds.size(); from += PostRepository.STREAM_FETCH_SIZE) {
+            List<Long> chunk = rankedIds.subList(from, Math.min(from + PostRepository.STREAM_FETCH_SIZE, rankedIds.size()));
+            Map<Long, Post> postsById = postRepository.findAllById(chunk).stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity()));
+            chunk.stream()
+                    .map(postsById::get)
+                    .filter(Objects::nonNull)
+                    .map(this::mapToPostResponse)
+                    .forEach(consumer);
+            entityManager.clear();
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        int requested = size == null ? defaultPageSize : size;
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+
+    private static boolean hasTextQuery(String content, String author) {
+        return (content != null && !content.isBlank()) || (author != null && !author.isBlank());
+    }
+
+    private static LocalDateTime cursorDate(PostCursor cursor) {
+        return cursor == null ? null : cursor.creationDate();
+    }
+
+    private static Long cursorId(PostCursor cursor) {
+        return cursor == null ? null : cursor.id();
+    }
+
+    private static <R> CursorPage<R> toDatePage(List<R> rows, int pageSize,
+                                                Function<R, LocalDateTime> creationDate, Function<R, Long> id) {
+        List<R> page = rows.subList(0, Math.min(pageSize, rows.size()));
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            R last = page.get(page.size() - 1);
+            nextCursor = PostCursor.afterDate(creationDate.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPage<>(page, nextCursor);
+    }
+
+    static String createExcerpt(String content) {
+        if (content == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(content.strip()).replaceAll(" ");
+        if (normalized.length() <= Post.EXCERPT_LENGTH) {
+            return normalized;
+        }
+        int cut = normalized.lastIndexOf(' ', Post.EXCERPT_LENGTH);
+        return normalized.substring(0, cut > 0 ? cut : Post.EXCERPT_LENGTH) + "…";
+    }
+
+    private PostSummaryResponse mapToPostSummaryResponse(PostSummary summary) {
+        return new PostSummaryResponse(
+                summary.getId(),
+                summary.getTitle(),
+                summary.getExcerpt(),
+                summary.getAuthor(),
+                summary.getStatus(),
+                summary.getCreationDate()
+        );
     }
 
     private PostResponse mapToPostResponse(Post post) {
@@ -149,13 +477,23 @@ public class PostService implements IPostService{
                 post.getContent(),
                 post.getAuthor(),
                 post.getStatus(),
-                post.getCreationDate()
+                post.getCreationDate(),
+                post.getVersion()
         );
     }
 
-    @RabbitListener(queues = "reviewQueue")
-    public void getReviews(ReviewMessage reviewMessage) {
+    // Per-message path, only started when posts.reviews.batch.enabled=false
+    @RabbitListener(id = "reviewListener", queues = "reviewQueue", containerFactory = "reviewContainerFactory",
+            autoStartup = "#{!${posts.reviews.batch.enabled:true}}")
+    @Transactional
+    public void getReviews(ReviewMessage reviewMessage,
+                           @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId,
+                           @Header(name = ReviewPartitions.SEQUENCE_HEADER, required = false) Long sequence) {
+        long start = System.nanoTime();
         logger.info("Received review message for post ID: {}", reviewMessage.getId());
+        if (!messageDeduplicator.firstDelivery(messageId)) {
+            return;
+        }
 
         // Find the post by ID
         Post post = postRepository.findById(reviewMessage.getId())
@@ -164,33 +502,189 @@ public class PostService implements IPostService{
                     return new NotFoundException("Post with ID " + reviewMessage.getId() + " not found");
                 });
 
+        if (isStale(post, sequence)) {
+            return;
+        }
+
         // Update the status of the post based on the review status
-        if (reviewMessage.getStatus() == Status.ACCEPTED) {
+        Status previousStatus = post.getStatus();
+        applyReview(post, reviewMessage.getStatus(), sequence);
+
+        // Save the updated post
+        postRepository.save(post);
+        postRepository.flush();
+        afterReview(post, previousStatus);
+        reviewConsumerMetrics.record(ReviewConsumerMetrics.SINGLE, 1, System.nanoTime() - start);
+    }
+
+    /**
+     * Handles up to posts.reviews.batch.size messages at once (fewer when the queue stays idle for
+     * posts.reviews.batch.receive-timeout): one findAllById, one transaction with batched updates, one ack for all.
+     * A message for a post that does not exist fails the batch like it fails on the per-message path; the
+     * {@link ReviewRetryRouter} then runs the messages one by one, so only that one is retried and dead-lettered.
+     * Redeliveries are dropped before the posts are loaded, reviews older than the last one applied to their post after.
+     */
+    @RabbitListener(id = "reviewBatchListener", queues = "reviewQueue", containerFactory = "reviewBatchContainerFactory",
+            autoStartup = "${posts.reviews.batch.enabled:true}")
+    @Transactional
+    public void getReviewBatch(List<Message<ReviewMessage>> messages) {
+        long start = System.nanoTime();
+        logger.info("Received batch of {} review messages", messages.size());
+        List<Message<ReviewMessage>> firstDeliveries = messageDeduplicator.firstDeliveryMessages(messages);
+        if (firstDeliveries.isEmpty()) {
+            return;
+        }
+
+        Set<Long> postIds = firstDeliveries.stream()
+                .map(message -> message.getPayload().getId())
+                .collect(Collectors.toSet());
+        Map<Long, Post> posts = postRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        // Later messages for the same post win, as they would on the per-message path
+        Map<Long, Status> previousStatuses = new LinkedHashMap<>();
+        for (Message<ReviewMessage> message : firstDeliveries) {
+            ReviewMessage reviewMessage = message.getPayload();
+            Post post = posts.get(reviewMessage.getId());
+            if (post == null) {
+                logger.error("Post with ID: {} not found", reviewMessage.getId());
+                throw new NotFoundException("Post with ID " + reviewMessage.getId() + " not found");
+            }
+            Long sequence = reviewSequence(message);
+            if (isStale(post, sequence)) {
+                continue;
+            }
+            previousStatuses.putIfAbsent(post.getId(), post.getStatus());
+            applyReview(post, reviewMessage.getStatus(), sequence);
+        }
+
+        List<Post> reviewedPosts = previousStatuses.keySet().stream()
+                .map(posts::get)
+                .toList();
+        postRepository.saveAll(reviewedPosts);
+        postRepository.flush();
+        reviewedPosts.forEach(post -> afterReview(post, previousStatuses.get(post.getId())));
+        reviewConsumerMetrics.record(ReviewConsumerMetrics.BATCH, messages.size(), System.nanoTime() - start);
+    }
+
+    // The log entry and the postQueue message describe the same change, in the transaction that makes it.
+    // Callers flush the post first (a new post has its version once saved), so the version recorded with it
+    // is the one after the change
+    private void recordStatus(Post post, Status previousStatus) {
+        LocalDateTime changedAt = LocalDateTime.now();
+        postEventService.append(post, previousStatus, changedAt);
+        outbox.enqueue(PostStatusFeed.QUEUE, new PostStatusMessage(post.getId(), post.getAuthor(), post.getStatus(), changedAt,
+                post.getVersion()));
+    }
+
+    private static Long reviewSequence(Message<ReviewMessage> message) {
+        return message.getHeaders().get(ReviewPartitions.SEQUENCE_HEADER) instanceof Number number ? number.longValue() : null;
+    }
+
+    // Messages published before review-service stamped a sequence are applied as they come
+    private static boolean isStale(Post post, Long sequence) {
+        if (sequence == null || post.getLastReviewSequence() == null || sequence > post.getLastReviewSequence()) {
+            return false;
+        }
+        logger.info("Skipping review {} for post ID: {}, review {} was already applied",
+                sequence, post.getId(), post.getLastReviewSequence());
+        return true;
+    }
+
+    private static void applyReview(Post post, Status reviewStatus, Long sequence) {
+        if (reviewStatus == Status.ACCEPTED) {
             post.setStatus(Status.PUBLISHED);
-        } else if (reviewMessage.getStatus() == Status.REJECTED) {
+        } else if (reviewStatus == Status.REJECTED) {
             post.setStatus(Status.REJECTED);
         }
+        if (sequence != null) {
+            post.setLastReviewSequence(sequence);
+        }
+    }
 
-        // Save the updated post
-        postRepository.save(post);
+    private void afterReview(Post post, Status previousStatus) {
+        // Counting a review that is rolled back would skew the statistics until the next reconciliation
+        AfterCommit.run(() -> postStatistics.recordChanged(previousStatus, post.getAuthor(), post));
+        // Evicting before the commit would let a concurrent read cache the old row again,
+        // and the search indexes would re-read the post before the review is visible
+        AfterCommit.run(() -> postCache.invalidate(post.getId()));
+        if (previousStatus != post.getStatus()) {
+            recordStatus(post, previousStatus);
+        }
         logger.info("Updated post ID: {} with status: {}", post.getId(), post.getStatus());
     }
 
     @Override
     public void getNotification(NotificationRequest notificationRequest) {
-        Notification notification = Notification.builder()
+        Notification notification = buildNotification(notificationRequest, LocalDateTime.now());
+        notificationRepository.save(notification);
+        AfterCommit.run(() -> notificationStream.publish(mapToNotificationResponse(notification)));
+    }
+
+    @RabbitListener(id = "notificationListener", queues = "notificationQueue", containerFactory = "notificationBatchContainerFactory")
+    @Transactional
+    public void getNotificationBatch(List<Message<NotificationRequest>> messages) {
+        logger.info("Received batch of {} notifications", messages.size());
+        List<NotificationRequest> notificationRequests = messageDeduplicator.firstDeliveries(messages);
+        LocalDateTime creationDate = LocalDateTime.now();
+        List<Notification> notifications = notificationRequests.stream()
+                .map(notificationRequest -> buildNotification(notificationRequest, creationDate))
+                .toList();
+        notificationRepository.saveAll(notifications);
+        // Pushed only once stored, or a client could be shown a notification its inbox never returns
+        AfterCommit.run(() -> notifications.forEach(notification -> notificationStream.publish(mapToNotificationResponse(notification))));
+    }
+
+    private static Notification buildNotification(NotificationRequest notificationRequest, LocalDateTime creationDate) {
+        return Notification.builder()
                 .message(notificationRequest.getMessage())
                 .author(notificationRequest.getAuthor())
                 .postAuthor(notificationRequest.getPostAuthor())
+                .creationDate(creationDate)
                 .build();
-        notificationRepository.save(notification);
     }
 
     @Override
-    public List<NotificationResponse> getNotificationsForAuthor(String author) {
-        List<Notification> notifications = notificationRepository.findNotificationsByPostAuthor(author);
-        return notifications.stream()
-                .map(notification -> new NotificationResponse(notification.getMessage(), notification.getAuthor(), notification.getPostAuthor()))
+    public CursorPage<NotificationResponse> getNotificationsForAuthor(String author, boolean unreadOnly, String cursor, Integer size) {
+        logger.info("Fetching notifications for author: {}", author);
+        // Keyed on (creationDate, id) like the post listings: pooled ids say nothing about which notification is newer
+        PostCursor after = PostCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<NotificationResponse> notifications = notificationRepository.findInboxPage(
+                        author, unreadOnly, cursorDate(after), cursorId(after), PageRequest.of(0, pageSize + 1)).stream()
+                .map(this::mapToNotificationResponse)
                 .toList();
+        return toDatePage(notifications, pageSize, NotificationResponse::getCreationDate, NotificationResponse::getId);
+    }
+
+    @Override
+    public long getUnreadNotificationCount(String author) {
+        return notificationRepository.countByPostAuthorAndReadFalse(author);
+    }
+
+    @Override
+    public int markNotificationsAsRead(String author, List<Long> notificationIds) {
+        int updated = notificationIds == null || notificationIds.isEmpty()
+                ? notificationRepository.markAllAsRead(author)
+                : notificationRepository.markAsRead(author, notificationIds);
+        logger.info("Marked {} notifications of author {} as read", updated, author);
+        return updated;
+    }
+
+    @Override
+    public SseEmitter streamNotifications(String author) {
+        logger.info("Opening notification stream for author: {}", author);
+        return notificationStream.subscribe(author);
+    }
+
+    private NotificationResponse mapToNotificationResponse(Notification notification) {
+        return new NotificationResponse(
+                notification.getId(),
+                notification.getMessage(),
+                notification.getAuthor(),
+                notification.getPostAuthor(),
+                notification.getCreationDate(),
+                notification.isRead()
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostCount;
+import be.pxl.services.domain.PostStatusEvent;
+import be.pxl.services.domain.dto.response.PostStatsResponse;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory post counts per status and per author.
+ * Seeded from a single GROUP BY query on startup and adjusted by {@link PostService} on every write,
+ * so reading the statistics never touches the post table. Writes handled by other replicas are only
+ * picked up by the periodic reconciliation, which replaces the counters with fresh database counts.
+ * Changes recorded while the counts are read are kept aside and added to the fresh counters as they are
+ * swapped in, so they are not lost to the swap.
+ * A replay of the post status log builds a new set of counters aside and swaps it in when it completes.
+ */
+@Component
+public class PostStatistics implements PostReadModel {
+    private static final Logger logger = LoggerFactory.getLogger(PostStatistics.class);
+
+    private final PostRepository postRepository;
+    // Recording takes the read lock, swapping in new counters the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters();
+    private final List<Counters> pendingChanges = new ArrayList<>();
+    private volatile Counters replayCounters;
+    private volatile Counters replayChanges;
+
+    public PostStatistics(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    private record Counters(Map<Status, LongAdder> byStatus, Map<String, LongAdder> byAuthor) {
+        Counters() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${posts.stats.reconcile-interval:PT5M}", initialDelayString = "${posts.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Counters changes = trackChanges();
+        try {
+            Counters fresh = new Counters();
+            for (PostCount count : postRepository.countByStatusAndAuthor()) {
+                add(fresh.byStatus(), count.getStatus(), count.getCount());
+                add(fresh.byAuthor(), count.getAuthor(), count.getCount());
+            }
+            swapIn(fresh, changes);
+            logger.info("Post statistics reconciled for {} statuses and {} authors",
+                    fresh.byStatus().size(), fresh.byAuthor().size());
+        } finally {
+            stopTracking(changes);
+        }
+    }
+
+    public void recordCreated(Post post) {
+        record(target -> {
+            add(target.byStatus(), post.getStatus(), 1);
+            add(target.byAuthor(), post.getAuthor(), 1);
+        });
+    }
+
+    public void recordChanged(Status previousStatus, String previousAuthor, Post post) {
+        record(target -> {
+            if (previousStatus != post.getStatus()) {
+                add(target.byStatus(), previousStatus, -1);
+                add(target.byStatus(), post.getStatus(), 1);
+            }
+            if (previousAuthor == null ? post.getAuthor() != null : !previousAuthor.equals(post.getAuthor())) {
+                add(target.byAuthor(), previousAuthor, -1);
+                add(target.byAuthor(), post.getAuthor(), 1);
+            }
+        });
+    }
+
+    private void record(Consumer<Counters> change) {
+        swapLock.readLock().lock();
+        try {
+            change.accept(counters);
+            pendingChanges.forEach(change);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private Counters trackChanges() {
+        Counters changes = new Counters();
+        swapLock.writeLock().lock();
+        try {
+            pendingChanges.add(changes);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        return changes;
+    }
+
+    private void stopTracking(Counters changes) {
+        swapLock.writeLock().lock();
+        try {
+            pendingChanges.removeIf(tracked -> tracked == changes);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void swapIn(Counters fresh, Counters changes) {
+        swapLock.writeLock().lock();
+        try {
+            changes.byStatus().forEach((status, delta) -> add(fresh.byStatus(), status, delta.sum()));
+            changes.byAuthor().forEach((author, delta) -> add(fresh.byAuthor(), author, delta.sum()));
+            counters = fresh;
+            pendingChanges.removeIf(tracked -> tracked == changes);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "statistics";
+    }
+
+    // Counting needs every post, not only those changed since an offset
+    @Override
+    public boolean supportsPartialReplay() {
+        return false;
+    }
+
+    @Override
+    public void beginReplay(boolean fromStart) {
+        Counters abandoned = replayChanges;
+        if (abandoned != null) {
+            // The previous replay failed before it ended
+            stopTracking(abandoned);
+        }
+        replayCounters = new Counters();
+        replayChanges = trackChanges();
+    }
+
+    @Override
+    public void replay(List<PostStatusEvent> latestEvents) {
+        Counters fresh = replayCounters;
+        for (PostStatusEvent event : latestEvents) {
+            add(fresh.byStatus(), event.getStatus(), 1);
+            add(fresh.byAuthor(), event.getAuthor(), 1);
+        }
+    }
+
+    // The log was read up to an offset taken after beginReplay; everything recorded since comes on top of it
+    @Override
+    public void endReplay() {
+        swapIn(replayCounters, replayChanges);
+        replayCounters = null;
+        replayChanges = null;
+        logger.info("Post statistics replayed for {} statuses and {} authors",
+                counters.byStatus().size(), counters.byAuthor().size());
+    }
+
+    public PostStatsResponse snapshot() {
+        Counters current = counters;
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        long total = 0;
+        for (Status status : Status.values()) {
+            LongAdder counter = current.byStatus().get(status);
+            long count = counter == null ? 0 : counter.sum();
+            byStatus.put(status, count);
+            total += count;
+        }
+        Map<String, Long> byAuthor = new TreeMap<>();
+        current.byAuthor().forEach((author, counter) -> {
+            long count = counter.sum();
+            if (count > 0) {
+                byAuthor.put(author, count);
+            }
+        });
+        return new PostStatsResponse(total, byStatus, byAuthor);
+    }
+
+    private static <K> void add(Map<K, LongAdder> counters, K key, long delta) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+}
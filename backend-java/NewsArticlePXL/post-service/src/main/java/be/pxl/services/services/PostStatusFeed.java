@@ -0,0 +1,52 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.PostStatusEvent;
+import be.pxl.services.domain.dto.response.PostStatusMessage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * The postQueue feed that review-service builds its pending-review backlog from.
+ * Replaying it republishes the latest status of each post; consumers keep whichever state is newest,
+ * so this fills in what they missed without undoing anything they already have.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostStatusFeed implements PostReadModel {
+    private static final Logger logger = LoggerFactory.getLogger(PostStatusFeed.class);
+    public static final String QUEUE = "postQueue";
+
+    private final Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public String name() {
+        return "post-status-feed";
+    }
+
+    @Override
+    public void beginReplay(boolean fromStart) {
+        logger.info("Republishing post statuses on {}", QUEUE);
+    }
+
+    @Override
+    public void replay(List<PostStatusEvent> latestEvents) {
+        transactionTemplate.executeWithoutResult(status ->
+                latestEvents.forEach(event -> outbox.enqueue(QUEUE, toMessage(event))));
+    }
+
+    @Override
+    public void endReplay() {
+        logger.info("Post statuses republished on {}", QUEUE);
+    }
+
+    public static PostStatusMessage toMessage(PostStatusEvent event) {
+        return new PostStatusMessage(event.getPostId(), event.getAuthor(), event.getStatus(), event.getOccurredAt(),
+                event.getPostVersion());
+    }
+}
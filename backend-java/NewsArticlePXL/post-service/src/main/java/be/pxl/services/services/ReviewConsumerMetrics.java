@@ -0,0 +1,41 @@
+package be.pxl.services.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the reviewQueue consumer, tagged with mode=single or mode=batch so both listener paths can be compared:
+ * posts.reviews.processed counts messages, posts.reviews.handling times each listener invocation
+ * and posts.reviews.batch.size records how many messages one invocation handled.
+ */
+@Component
+public class ReviewConsumerMetrics {
+    public static final String SINGLE = "single";
+    public static final String BATCH = "batch";
+
+    private final MeterRegistry meterRegistry;
+
+    public ReviewConsumerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String mode, int messages, long elapsedNanos) {
+        Counter.builder("posts.reviews.processed")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment(messages);
+        Timer.builder("posts.reviews.handling")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("posts.reviews.batch.size")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(messages);
+    }
+}
@@ -0,0 +1,178 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.dto.response.ReviewMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Processes review messages in posts.reviews.partitions shards instead of on the single reviewQueue consumer.
+ * review-service publishes them to {@link #EXCHANGE}, a consistent-hash exchange on the {@link #PARTITION_KEY_HEADER}
+ * header (the post id), so all reviews of a post land in the same shard queue. Each shard is a single-active-consumer
+ * queue consumed by its own container with one consumer, so a post's reviews are applied in publish order, across
+ * replicas too, while different shards run in parallel.
+ * While no shard is bound the exchange hands everything to its alternate exchange, which feeds reviewQueue, whose
+ * listeners keep running for that. Retries and replays go back through the exchange, so they return to their shard.
+ * A retried review returns after its backoff, behind newer reviews of its post that were applied meanwhile; its
+ * {@link #SEQUENCE_HEADER} tells {@link PostService} it is stale, so it does not overwrite them.
+ */
+@Component
+public class ReviewPartitions implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(ReviewPartitions.class);
+    public static final String EXCHANGE = "reviewExchange";
+    public static final String UNROUTED_EXCHANGE = "reviewExchange.unrouted";
+    public static final String PARTITION_KEY_HEADER = "x-partition-key";
+    // The outbox relay_order review-service stamps on every message: per post it grows in the order the reviews were written
+    public static final String SEQUENCE_HEADER = "x-outbox-sequence";
+    private static final String SHARD_QUEUE_PREFIX = ReviewRetryRouter.QUEUE + ".shard.";
+    // Every shard gets the same share of the hash ring
+    private static final String SHARD_WEIGHT = "1";
+
+    private final PostService postService;
+    private final ReviewRetryRouter reviewRetryRouter;
+    private final MessageConverter messageConverter;
+    private final List<SimpleMessageListenerContainer> containers = new ArrayList<>();
+    private final int partitions;
+    private volatile boolean running;
+
+    public ReviewPartitions(PostService postService,
+                            ReviewRetryRouter reviewRetryRouter,
+                            MessageConverter messageConverter,
+                            @Qualifier("reviewBatchContainerFactory") SimpleRabbitListenerContainerFactory containerFactory,
+                            @Value("${posts.reviews.partitions:4}") int partitions) {
+        this.postService = postService;
+        this.reviewRetryRouter = reviewRetryRouter;
+        this.messageConverter = messageConverter;
+        this.partitions = Math.max(0, partitions);
+        for (int shard = 0; shard < this.partitions; shard++) {
+            SimpleMessageListenerContainer container = containerFactory.createListenerContainer();
+            container.setListenerId("reviewShardListener-" + shard);
+            container.setQueueNames(shardQueueName(shard));
+            container.setConcurrentConsumers(1);
+            container.setMaxConcurrentConsumers(1);
+            container.setConsumerBatchEnabled(true);
+            container.setMessageListener((BatchMessageListener) this::onShardBatch);
+            container.afterPropertiesSet();
+            containers.add(container);
+        }
+    }
+
+    /**
+     * The hash exchange and its fallback. review-service declares the same two exchanges, so whichever service
+     * starts first, nothing it publishes is dropped for lack of a route.
+     */
+    public static List<Declarable> exchanges() {
+        CustomExchange exchange = new CustomExchange(EXCHANGE, "x-consistent-hash", true, false,
+                Map.of("hash-header", PARTITION_KEY_HEADER, "alternate-exchange", UNROUTED_EXCHANGE));
+        FanoutExchange unrouted = new FanoutExchange(UNROUTED_EXCHANGE);
+        return List.of(exchange, unrouted,
+                new Binding(ReviewRetryRouter.QUEUE, Binding.DestinationType.QUEUE, UNROUTED_EXCHANGE, "", null));
+    }
+
+    /**
+     * Shrinking the partition count leaves the surplus shard queues bound; unbind and drain them by hand.
+     * Growing it moves part of the posts to the new shards, so their messages already queued may overtake.
+     */
+    public List<Declarable> shardQueues() {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int shard = 0; shard < partitions; shard++) {
+            String queue = shardQueueName(shard);
+            declarables.add(QueueBuilder.durable(queue).singleActiveConsumer().build());
+            declarables.add(new Binding(queue, Binding.DestinationType.QUEUE, EXCHANGE, SHARD_WEIGHT, null));
+        }
+        return declarables;
+    }
+
+    public void onShardBatch(List<Message> messages) {
+        List<Message> readable = new ArrayList<>(messages.size());
+        List<org.springframework.messaging.Message<ReviewMessage>> reviews = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                reviews.add(toReview(messageConverter, message));
+                readable.add(message);
+            } catch (MessageConversionException e) {
+                // Dead-letter just this one instead of failing the shard's whole batch
+                reviewRetryRouter.recover(message, e);
+            }
+        }
+        if (reviews.isEmpty()) {
+            return;
+        }
+        try {
+            postService.getReviewBatch(reviews);
+        } catch (RuntimeException e) {
+            // Only the readable ones: the unreadable ones are already dead-lettered
+            reviewRetryRouter.recover(readable, e);
+        }
+    }
+
+    static org.springframework.messaging.Message<ReviewMessage> toReview(MessageConverter messageConverter, Message message) {
+        message.getMessageProperties().setInferredArgumentType(ReviewMessage.class);
+        if (!(messageConverter.fromMessage(message) instanceof ReviewMessage review)) {
+            throw new MessageConversionException("Not a review message");
+        }
+        return MessageBuilder.withPayload(review)
+                .setHeader(AmqpHeaders.MESSAGE_ID, message.getMessageProperties().getMessageId())
+                .setHeader(SEQUENCE_HEADER, message.getMessageProperties().getHeader(SEQUENCE_HEADER))
+                .build();
+    }
+
+    /**
+     * Makes sure a message sent back through {@link #EXCHANGE} lands in its post's shard again. Messages published
+     * before the shards existed carry no key; one that cannot be read keeps none and falls back to reviewQueue.
+     */
+    static void restorePartitionKey(MessageConverter messageConverter, Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        if (properties.getHeader(PARTITION_KEY_HEADER) != null) {
+            return;
+        }
+        try {
+            properties.setHeader(PARTITION_KEY_HEADER, String.valueOf(toReview(messageConverter, message).getPayload().getId()));
+        } catch (MessageConversionException e) {
+            logger.warn("Review message {} has no partition key and cannot be read for one", properties.getMessageId());
+        }
+    }
+
+    public static String shardQueueName(int shard) {
+        return SHARD_QUEUE_PREFIX + shard;
+    }
+
+    @Override
+    public void start() {
+        containers.forEach(SimpleMessageListenerContainer::start);
+        running = true;
+        logger.info("Started {} review shard consumers", containers.size());
+    }
+
+    @Override
+    public void stop() {
+        containers.forEach(SimpleMessageListenerContainer::stop);
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
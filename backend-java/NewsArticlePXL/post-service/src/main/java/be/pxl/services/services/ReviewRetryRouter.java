@@ -0,0 +1,169 @@
+package be.pxl.services.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes over review messages whose listener failed, on reviewQueue or a shard queue (see {@link ReviewPartitions}),
+ * instead of letting the container requeue them at once.
+ * When a batch fails, each of its messages is run again on its own first, so one bad message does not hold back the
+ * rest of the batch; only the messages that fail again are routed.
+ * A failed message is parked in the retry queue of its attempt, whose TTL dead-letters it back to
+ * {@link ReviewPartitions#EXCHANGE}, so it returns to the shard of its post (or to reviewQueue while no shard is bound):
+ * the delay starts at posts.reviews.retry.initial-interval and grows by posts.reviews.retry.multiplier per attempt.
+ * After posts.reviews.retry.max-attempts, or when it cannot be converted at all, it goes to {@link #DEAD_LETTER_QUEUE}
+ * where it stays until it is replayed through {@link DeadLetterService}.
+ */
+@Component
+public class ReviewRetryRouter implements MessageBatchRecoverer {
+    private static final Logger logger = LoggerFactory.getLogger(ReviewRetryRouter.class);
+    public static final String QUEUE = "reviewQueue";
+    public static final String DEAD_LETTER_QUEUE = "reviewQueue.dlq";
+    public static final String ATTEMPTS_HEADER = "x-review-attempts";
+    public static final String ERROR_HEADER = "x-review-error";
+    public static final String DEAD_LETTERED_AT_HEADER = "x-review-dead-lettered-at";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final PostService postService;
+    private final MessageConverter messageConverter;
+    private final int maxAttempts;
+    private final List<Duration> delays = new ArrayList<>();
+    private final long confirmTimeoutMillis;
+
+    // PostService is lazy: its @RabbitListener containers need the container factories, which need this router
+    public ReviewRetryRouter(RabbitTemplate rabbitTemplate,
+                             @Lazy PostService postService,
+                             MessageConverter messageConverter,
+                             @Value("${posts.reviews.retry.max-attempts:5}") int maxAttempts,
+                             @Value("${posts.reviews.retry.initial-interval:PT1S}") Duration initialInterval,
+                             @Value("${posts.reviews.retry.multiplier:4}") double multiplier,
+                             @Value("${posts.reviews.retry.max-interval:PT5M}") Duration maxInterval,
+                             @Value("${outbox.relay.confirm-timeout:PT10S}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.postService = postService;
+        this.messageConverter = messageConverter;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.confirmTimeoutMillis = confirmTimeout.toMillis();
+        double delay = initialInterval.toMillis();
+        for (int attempt = 1; attempt < this.maxAttempts; attempt++) {
+            delays.add(Duration.ofMillis((long) Math.min(delay, maxInterval.toMillis())));
+            delay *= multiplier;
+        }
+    }
+
+    /**
+     * One queue per distinct delay. The delay is part of the name, so changing the backoff declares new queues
+     * instead of clashing with the arguments of the existing ones. The reviewQueue.retry.* queues of before the shards
+     * still dead-letter to reviewQueue; they drain on their own and can be deleted once empty.
+     */
+    public List<Queue> retryQueues() {
+        return delays.stream()
+                .distinct()
+                .map(delay -> QueueBuilder.durable(retryQueueName(delay))
+                        .ttl(Math.toIntExact(delay.toMillis()))
+                        .deadLetterExchange(ReviewPartitions.EXCHANGE)
+                        .deadLetterRoutingKey("")
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        recover(List.of(message), cause);
+    }
+
+    @Override
+    public void recover(List<Message> messages, Throwable cause) {
+        if (messages.size() == 1) {
+            route(List.of(Map.entry(messages.get(0), cause)));
+            return;
+        }
+        logger.warn("Review batch of {} messages failed, retrying them one by one: {}", messages.size(), describe(cause));
+        // The batch was rolled back as a whole, so each message is handled as if it were delivered alone
+        List<Map.Entry<Message, Throwable>> failed = new ArrayList<>();
+        for (Message message : messages) {
+            try {
+                postService.getReviewBatch(List.of(ReviewPartitions.toReview(messageConverter, message)));
+            } catch (RuntimeException e) {
+                failed.add(Map.entry(message, e));
+            }
+        }
+        if (!failed.isEmpty()) {
+            route(failed);
+        }
+    }
+
+    private void route(List<Map.Entry<Message, Throwable>> failed) {
+        rabbitTemplate.invoke(operations -> {
+            for (Map.Entry<Message, Throwable> entry : failed) {
+                Message message = entry.getKey();
+                String error = describe(entry.getValue());
+                MessageProperties properties = message.getMessageProperties();
+                int attempts = attempts(properties) + 1;
+                properties.setHeader(ATTEMPTS_HEADER, attempts);
+                properties.setHeader(ERROR_HEADER, error);
+                if (isFatal(entry.getValue()) || attempts >= maxAttempts) {
+                    properties.setHeader(DEAD_LETTERED_AT_HEADER, Instant.now().toString());
+                    logger.error("Dead-lettering review message {} after {} attempts: {}",
+                            properties.getMessageId(), attempts, error);
+                    operations.send("", DEAD_LETTER_QUEUE, message);
+                } else {
+                    Duration delay = delays.get(attempts - 1);
+                    ReviewPartitions.restorePartitionKey(messageConverter, message);
+                    logger.warn("Retrying review message {} in {} (attempt {} of {}): {}",
+                            properties.getMessageId(), delay, attempts + 1, maxAttempts, error);
+                    operations.send("", retryQueueName(delay), message);
+                }
+            }
+            // The failed deliveries are acked once this returns, so they must be safely on the broker first
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+    }
+
+    public static int attempts(MessageProperties properties) {
+        Object attempts = properties.getHeader(ATTEMPTS_HEADER);
+        return attempts instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static String retryQueueName(Duration delay) {
+        return ReviewPartitions.EXCHANGE + ".retry." + delay.toMillis() + "ms";
+    }
+
+    // A message that cannot be read will not become readable by waiting
+    private static boolean isFatal(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof MessageConversionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String describe(Throwable cause) {
+        Throwable root = cause;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String description = root.getClass().getSimpleName() + ": " + root.getMessage();
+        return description.length() > MAX_ERROR_LENGTH ? description.substring(0, MAX_ERROR_LENGTH) : description;
+    }
+}
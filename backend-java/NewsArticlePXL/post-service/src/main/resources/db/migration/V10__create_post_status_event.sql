@@ -0,0 +1,33 @@
+-- Append-only log of post status changes. Appends leave log_offset empty; PostEventSequencer fills it in after
+-- they commit, and readers only see events that have one (see PostEventService)
+CREATE TABLE post_status_event
+(
+    id              BIGINT NOT NULL,
+    log_offset      BIGINT,
+    post_id         BIGINT,
+    post_version    BIGINT,
+    author          VARCHAR(255),
+    previous_status VARCHAR(20),
+    status          VARCHAR(20),
+    occurred_at     DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- Reading the log by offset, and PostStatusEventRepository.findUnsequenced on the events without one
+CREATE INDEX idx_post_status_event_log_offset ON post_status_event (log_offset, post_version, id);
+
+-- Every existing post starts the log with its current state, so a replay from the start covers all posts.
+-- Post ids are unique and ascending, so they serve as the ids and offsets without a window function
+INSERT INTO post_status_event (id, log_offset, post_id, post_version, author, previous_status, status, occurred_at)
+SELECT id, id, id, version, author, NULL, status, creation_date
+FROM post;
+
+-- Backing table for the pooled post_status_event_seq generator (allocation size 50), seeded past the backfill
+CREATE TABLE post_status_event_seq
+(
+    next_val BIGINT
+);
+
+INSERT INTO post_status_event_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50
+FROM post_status_event;
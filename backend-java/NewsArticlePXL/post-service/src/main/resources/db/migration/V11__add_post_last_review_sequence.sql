@@ -0,0 +1,2 @@
+-- Sequence of the last review applied to a post; null until the first review that carries one
+ALTER TABLE post ADD COLUMN last_review_sequence BIGINT;
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS post
+(
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    title         VARCHAR(255),
+    content       VARCHAR(255),
+    author        VARCHAR(255),
+    status        VARCHAR(20),
+    creation_date DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS notification
+(
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    message     VARCHAR(255),
+    author      VARCHAR(255),
+    post_author VARCHAR(255),
+    PRIMARY KEY (id)
+);
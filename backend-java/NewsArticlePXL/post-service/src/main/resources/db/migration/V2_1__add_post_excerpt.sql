@@ -0,0 +1,2 @@
+-- Not part of V1, which existing databases are baselined at; filled in for older posts by V3
+ALTER TABLE post ADD COLUMN excerpt VARCHAR(201);
@@ -0,0 +1,8 @@
+-- PostRepository.findPageByStatus / findSummaryPageByStatus and the status filter of findFilteredPostsPage
+CREATE INDEX idx_post_status_creation_date ON post (status, creation_date);
+
+-- PostRepository.findFilteredPostsPage / streamFilteredPosts without a status filter
+CREATE INDEX idx_post_creation_date ON post (creation_date);
+
+-- NotificationRepository.findNotificationsByPostAuthor
+CREATE INDEX idx_notification_post_author ON notification (post_author);
@@ -0,0 +1,4 @@
+UPDATE post
+SET excerpt = SUBSTRING(content, 1, 200)
+WHERE excerpt IS NULL
+  AND content IS NOT NULL;
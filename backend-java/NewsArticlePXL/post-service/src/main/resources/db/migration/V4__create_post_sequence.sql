@@ -0,0 +1,10 @@
+-- Backing table for the pooled post_seq generator (allocation size 50).
+-- Seeded 50 past the highest existing id, so the first allocated block cannot overlap rows that used AUTO_INCREMENT.
+CREATE TABLE post_seq
+(
+    next_val BIGINT
+);
+
+INSERT INTO post_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50
+FROM post;
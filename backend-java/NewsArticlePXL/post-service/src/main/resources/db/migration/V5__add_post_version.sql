@@ -0,0 +1,3 @@
+-- Optimistic lock version of a post, also used as its ETag
+ALTER TABLE post
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
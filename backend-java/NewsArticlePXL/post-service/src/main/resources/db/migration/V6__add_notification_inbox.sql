@@ -0,0 +1,18 @@
+-- Inbox state of a notification; existing notifications count as already read
+ALTER TABLE notification
+    ADD COLUMN creation_date DATETIME(6);
+ALTER TABLE notification
+    ADD COLUMN is_read BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Notification ids come from the pooled notification_seq, so the inbox is ordered on (creation_date, id) instead.
+-- Existing notifications sort below every newer one, in their AUTO_INCREMENT order.
+UPDATE notification
+SET is_read       = TRUE,
+    creation_date = '1970-01-01 00:00:00';
+
+-- NotificationRepository.findInboxPage; its post_author prefix replaces the single-column index
+CREATE INDEX idx_notification_post_author_creation_date ON notification (post_author, creation_date, id);
+ALTER TABLE notification DROP INDEX idx_notification_post_author;
+
+-- NotificationRepository.countByPostAuthorAndReadFalse, answered from the index alone
+CREATE INDEX idx_notification_post_author_read ON notification (post_author, is_read);
@@ -0,0 +1,35 @@
+-- Messages waiting for OutboxRelay, written in the transaction of the change they announce.
+-- Payloads are stored encoded, as JSON or with the compact binary codec, tagged with their content type.
+-- Pooled ids are handed out in blocks per replica, so they do not tell which event was written first.
+-- relay_order is assigned by the database on insert; two events for the same post are written by transactions
+-- that lock that post in turn, so the later one always gets the higher value.
+CREATE TABLE outbox_event
+(
+    id           BIGINT NOT NULL,
+    relay_order  BIGINT NOT NULL AUTO_INCREMENT UNIQUE,
+    destination  VARCHAR(255),
+    payload_type VARCHAR(255),
+    content_type VARCHAR(100),
+    payload      LONGBLOB,
+    created_at   DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- Backing table for the pooled outbox_event_seq generator, so batched writes stay JDBC-batched
+CREATE TABLE outbox_event_seq
+(
+    next_val BIGINT
+);
+
+INSERT INTO outbox_event_seq (next_val)
+VALUES (1);
+
+-- OutboxRelay locks this row for each batch, so only one replica publishes at a time
+CREATE TABLE outbox_relay_lock
+(
+    id INT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO outbox_relay_lock (id)
+VALUES (1);
@@ -0,0 +1,10 @@
+-- Ids of messages already handled by a listener, so redeliveries can be dropped (see MessageDeduplicator)
+CREATE TABLE processed_message
+(
+    message_id   VARCHAR(64) NOT NULL,
+    processed_at DATETIME(6),
+    PRIMARY KEY (message_id)
+);
+
+-- Purging expired ids is a range delete on processed_at
+CREATE INDEX idx_processed_message_processed_at ON processed_message (processed_at);
@@ -0,0 +1,71 @@
+package be.pxl.services;
+
+import be.pxl.services.config.AdaptiveListenerScaler;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AdaptiveListenerScalerTests {
+    private final AdaptiveListenerScaler.Limits limits =
+            new AdaptiveListenerScaler.Limits(1, 8, 10, 250, Duration.ofSeconds(5));
+
+    @Test
+    void shouldSizeConsumersToDrainBacklogWithinTarget() {
+        // 1000 messages in batches of 100 at 2 s per batch: 20 s of work, 4 consumers for a 5 s target
+        assertThat(AdaptiveListenerScaler.desiredConsumers(1000, 100, 2.0, 1, limits)).isEqualTo(4);
+        assertThat(AdaptiveListenerScaler.desiredConsumers(100_000, 1, 0.5, 1, limits)).isEqualTo(8);
+    }
+
+    @Test
+    void shouldAddOneConsumerWhenLatencyIsUnknown() {
+        assertThat(AdaptiveListenerScaler.desiredConsumers(500, 1, 0, 2, limits)).isEqualTo(3);
+        assertThat(AdaptiveListenerScaler.desiredConsumers(500, 1, 0, 8, limits)).isEqualTo(8);
+    }
+
+    @Test
+    void shouldScaleDownOneConsumerAtATime() {
+        assertThat(AdaptiveListenerScaler.desiredConsumers(0, 1, 0.01, 6, limits)).isEqualTo(5);
+        assertThat(AdaptiveListenerScaler.desiredConsumers(0, 1, 0.01, 1, limits)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSharePrefetchOverConsumersWithinBounds() {
+        assertThat(AdaptiveListenerScaler.desiredPrefetch(0, 1, limits)).isEqualTo(10);
+        assertThat(AdaptiveListenerScaler.desiredPrefetch(400, 4, limits)).isEqualTo(100);
+        assertThat(AdaptiveListenerScaler.desiredPrefetch(10_000, 2, limits)).isEqualTo(250);
+    }
+
+    @Test
+    void shouldApplyDecisionToContainerAndExposeMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RabbitListenerEndpointRegistry listenerRegistry = mock(RabbitListenerEndpointRegistry.class);
+        AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+        SimpleMessageListenerContainer container = mock(SimpleMessageListenerContainer.class);
+        when(listenerRegistry.getListenerContainer("reviewListener")).thenReturn(container);
+        when(container.isRunning()).thenReturn(true);
+        when(container.getQueueNames()).thenReturn(new String[]{"reviewQueue"});
+        when(amqpAdmin.getQueueInfo("reviewQueue")).thenReturn(new QueueInformation("reviewQueue", 200, 1));
+        Timer.builder("spring.rabbitmq.listener").tag("listener.id", "reviewListener").register(meterRegistry)
+                .record(Duration.ofMillis(100));
+
+        AdaptiveListenerScaler scaler = new AdaptiveListenerScaler(listenerRegistry, amqpAdmin, meterRegistry, limits)
+                .manage("reviewListener", 1);
+        scaler.sample();
+
+        // 200 messages at 100 ms each: 20 s of work, 4 consumers for a 5 s target, 50 prefetch each
+        verify(container).setPrefetchCount(50);
+        verify(container).setConcurrentConsumers(4);
+        assertThat(meterRegistry.get("messaging.listener.consumers").tag("listener", "reviewListener").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("messaging.listener.queue.depth").tag("listener", "reviewListener").gauge().value()).isEqualTo(200);
+        assertThat(meterRegistry.get("messaging.listener.scaling").tag("direction", "up").counter().count()).isEqualTo(1);
+    }
+}
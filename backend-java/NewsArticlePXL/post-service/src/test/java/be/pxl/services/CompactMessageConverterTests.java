@@ -0,0 +1,93 @@
+package be.pxl.services;
+
+import be.pxl.services.config.CompactMessageConverter;
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.dto.request.NotificationRequest;
+import be.pxl.services.domain.dto.response.PostStatusMessage;
+import be.pxl.services.domain.dto.response.ReviewMessage;
+import be.pxl.services.enums.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompactMessageConverterTests {
+    private final MessageConverter messageConverter = new RabbitMQConfig().messageConverter();
+
+    @Test
+    void shouldRoundTripEveryMessageType() {
+        ReviewMessage review = new ReviewMessage(123_456L, Status.REJECTED);
+        NotificationRequest notification = new NotificationRequest("Je post (1) is geweigerd: te kort", "Reviewer", "Jöran");
+        PostStatusMessage postStatus = new PostStatusMessage(9L, "Jöran", Status.SUBMITTED,
+                LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_789), 4L);
+
+        assertThat(CompactMessageConverter.decode(CompactMessageConverter.encode(review))).isEqualTo(review);
+        assertThat(CompactMessageConverter.decode(CompactMessageConverter.encode(notification))).isEqualTo(notification);
+        assertThat(CompactMessageConverter.decode(CompactMessageConverter.encode(postStatus))).isEqualTo(postStatus);
+    }
+
+    @Test
+    void shouldKeepNullFields() {
+        ReviewMessage review = new ReviewMessage(7L, null);
+        NotificationRequest notification = new NotificationRequest(null, "Reviewer", null);
+        PostStatusMessage postStatus = new PostStatusMessage(9L, null, Status.DRAFT, null, null);
+
+        assertThat(CompactMessageConverter.decode(CompactMessageConverter.encode(review))).isEqualTo(review);
+        assertThat(CompactMessageConverter.decode(CompactMessageConverter.encode(notification))).isEqualTo(notification);
+        assertThat(CompactMessageConverter.decode(CompactMessageConverter.encode(postStatus))).isEqualTo(postStatus);
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() {
+        ReviewMessage review = new ReviewMessage(42L, Status.ACCEPTED);
+        Message json = new Jackson2JsonMessageConverter().toMessage(review, new MessageProperties());
+
+        byte[] compact = CompactMessageConverter.encode(review);
+
+        assertThat(compact).hasSize(4);
+        assertThat(compact.length).isLessThan(json.getBody().length);
+    }
+
+    @Test
+    void shouldPickConverterByContentType() {
+        ReviewMessage review = new ReviewMessage(42L, Status.ACCEPTED);
+        MessageProperties compactProperties = new MessageProperties();
+        compactProperties.setContentType(CompactMessageConverter.CONTENT_TYPE);
+
+        Message compact = messageConverter.toMessage(review, compactProperties);
+        Message json = messageConverter.toMessage(review, new MessageProperties());
+
+        assertThat(compact.getMessageProperties().getContentType()).isEqualTo(CompactMessageConverter.CONTENT_TYPE);
+        assertThat(json.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(compact.getMessageProperties().getMessageId()).isNotNull();
+        assertThat(messageConverter.fromMessage(compact)).isEqualTo(review);
+        assertThat(messageConverter.fromMessage(json)).isEqualTo(review);
+    }
+
+    @Test
+    void shouldRejectUnknownAndTruncatedMessages() {
+        byte[] truncated = Arrays.copyOf(CompactMessageConverter.encode(new NotificationRequest("Bericht", "a", "b")), 5);
+
+        assertThatThrownBy(() -> CompactMessageConverter.decode(new byte[]{99, 0}))
+                .isInstanceOf(MessageConversionException.class);
+        assertThatThrownBy(() -> CompactMessageConverter.decode(truncated))
+                .isInstanceOf(MessageConversionException.class);
+        assertThatThrownBy(() -> CompactMessageConverter.encode("text"))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void shouldLeaveBarePostIdsToJson() {
+        assertThat(CompactMessageConverter.supports(42L)).isFalse();
+        assertThatThrownBy(() -> CompactMessageConverter.decode(new byte[]{1, 1, 84}))
+                .isInstanceOf(MessageConversionException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package be.pxl.services;
+
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.dto.response.DeadLetterReplayResponse;
+import be.pxl.services.domain.dto.response.DeadLetterResponse;
+import be.pxl.services.domain.dto.response.ReviewMessage;
+import be.pxl.services.enums.Status;
+import be.pxl.services.services.DeadLetterService;
+import be.pxl.services.services.ReviewPartitions;
+import be.pxl.services.services.ReviewRetryRouter;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class DeadLetterServiceTests {
+    private Channel channel;
+    private DeadLetterService deadLetterService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        channel = mock(Channel.class);
+        when(channel.isOpen()).thenReturn(true);
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation ->
+                ((ChannelCallback<Object>) invocation.getArgument(0)).doInRabbit(channel));
+        deadLetterService = new DeadLetterService(rabbitTemplate, new RabbitMQConfig().messageConverter());
+    }
+
+    private static GetResponse deadLetter(long deliveryTag, long postId) {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .messageId("review-service-" + postId)
+                .contentType("application/json")
+                .headers(Map.of(
+                        ReviewRetryRouter.ATTEMPTS_HEADER, 5,
+                        ReviewRetryRouter.ERROR_HEADER, "NotFoundException: Post with ID " + postId + " not found",
+                        ReviewRetryRouter.DEAD_LETTERED_AT_HEADER, "2024-05-01T10:15:30Z"))
+                .build();
+        byte[] body = ("{\"id\":" + postId + ",\"status\":\"ACCEPTED\"}").getBytes(StandardCharsets.UTF_8);
+        return new GetResponse(new Envelope(deliveryTag, false, "", ReviewRetryRouter.DEAD_LETTER_QUEUE), properties, body, 0);
+    }
+
+    @Test
+    void shouldListDeadLettersAndPutThemBack() throws Exception {
+        when(channel.basicGet(ReviewRetryRouter.DEAD_LETTER_QUEUE, false)).thenReturn(deadLetter(1, 7), deadLetter(2, 8), null);
+
+        List<DeadLetterResponse> deadLetters = deadLetterService.getDeadLetters(10);
+
+        assertThat(deadLetters).extracting(DeadLetterResponse::getReview)
+                .containsExactly(new ReviewMessage(7L, Status.ACCEPTED), new ReviewMessage(8L, Status.ACCEPTED));
+        assertThat(deadLetters.get(0).getAttempts()).isEqualTo(5);
+        assertThat(deadLetters.get(0).getError()).isEqualTo("NotFoundException: Post with ID 7 not found");
+        assertThat(deadLetters.get(0).getDeadLetteredAt()).hasToString("2024-05-01T10:15:30Z");
+        verify(channel).basicNack(2, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldReplayWithFreshAttemptsAndAckAfterConfirm() throws Exception {
+        when(channel.basicGet(ReviewRetryRouter.DEAD_LETTER_QUEUE, false)).thenReturn(deadLetter(1, 7), deadLetter(2, 8));
+        ArgumentCaptor<AMQP.BasicProperties> published = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+
+        DeadLetterReplayResponse response = deadLetterService.replayDeadLetters(2);
+
+        assertThat(response.getReplayed()).isEqualTo(2);
+        verify(channel, times(2)).basicPublish(eq(ReviewPartitions.EXCHANGE), eq(""), eq(false), published.capture(), any(byte[].class));
+        assertThat(published.getValue().getMessageId()).isEqualTo("review-service-8");
+        assertThat(published.getValue().getHeaders()).containsEntry(ReviewPartitions.PARTITION_KEY_HEADER, "8");
+        assertThat(published.getValue().getHeaders()).doesNotContainKeys(
+                ReviewRetryRouter.ATTEMPTS_HEADER, ReviewRetryRouter.ERROR_HEADER, ReviewRetryRouter.DEAD_LETTERED_AT_HEADER);
+        var order = inOrder(channel);
+        order.verify(channel).waitForConfirmsOrDie(anyLong());
+        order.verify(channel).basicAck(2, true);
+    }
+
+    @Test
+    void shouldPutDeadLettersBackWhenReplayIsNotConfirmed() throws Exception {
+        when(channel.basicGet(ReviewRetryRouter.DEAD_LETTER_QUEUE, false)).thenReturn(deadLetter(1, 7), (GetResponse) null);
+        doThrow(new TimeoutException("no confirm")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        assertThatThrownBy(() -> deadLetterService.replayDeadLetters(10)).isInstanceOf(Exception.class);
+
+        verify(channel).basicNack(1, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+}
@@ -0,0 +1,85 @@
+package be.pxl.services;
+
+import be.pxl.services.config.CompactMessageConverter;
+import be.pxl.services.domain.dto.request.NotificationRequest;
+import be.pxl.services.domain.dto.response.ReviewMessage;
+import be.pxl.services.enums.Status;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of the compact codec against Jackson2JsonMessageConverter, for the three message types
+ * it covers. Run with {@code mvn -pl post-service -Pbenchmark test}; payload sizes are printed before the run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageCodecBenchmark {
+    private static final Map<String, Object> PAYLOADS = Map.of(
+            "postId", 1_234_567L,
+            "review", new ReviewMessage(1_234_567L, Status.ACCEPTED),
+            "notification", new NotificationRequest(
+                    "Je post (1234567) is geweigerd: de bronnen ontbreken nog", "Reviewer", "Jan Janssens"));
+
+    @Param({"postId", "review", "notification"})
+    public String message;
+
+    private final Jackson2JsonMessageConverter jsonConverter = new Jackson2JsonMessageConverter();
+    private final CompactMessageConverter compactConverter = new CompactMessageConverter();
+    private Object payload;
+    private Message jsonMessage;
+    private Message compactMessage;
+
+    @Setup
+    public void setUp() {
+        payload = PAYLOADS.get(message);
+        jsonMessage = jsonConverter.toMessage(payload, new MessageProperties());
+        // Listeners convert to their parameter type, not to the __TypeId__ header
+        jsonMessage.getMessageProperties().setInferredArgumentType(payload.getClass());
+        compactMessage = compactConverter.toMessage(payload, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message jsonEncode() {
+        return jsonConverter.toMessage(payload, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message compactEncode() {
+        return compactConverter.toMessage(payload, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return jsonConverter.fromMessage(jsonMessage);
+    }
+
+    @Benchmark
+    public Object compactDecode() {
+        return compactConverter.fromMessage(compactMessage);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Jackson2JsonMessageConverter jsonConverter = new Jackson2JsonMessageConverter();
+        System.out.printf("%-14s %12s %16s %14s%n", "message", "json body", "json +type hdr", "compact body");
+        PAYLOADS.forEach((name, payload) -> {
+            Message json = jsonConverter.toMessage(payload, new MessageProperties());
+            String typeId = String.valueOf(json.getMessageProperties().getHeaders().get("__TypeId__"));
+            int compact = CompactMessageConverter.encode(payload).length;
+            System.out.printf("%-14s %12d %16d %14d%n", name, json.getBody().length,
+                    json.getBody().length + "__TypeId__".length() + typeId.length(), compact);
+        });
+        new Runner(new OptionsBuilder().include(MessageCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package be.pxl.services;
+
+import be.pxl.services.repository.ProcessedMessageRepository;
+import be.pxl.services.services.MessageDeduplicator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class MessageDeduplicatorTests {
+    private ProcessedMessageRepository processedMessageRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private MessageDeduplicator messageDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        processedMessageRepository = mock(ProcessedMessageRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        messageDeduplicator = new MessageDeduplicator(processedMessageRepository, meterRegistry,
+                Duration.ofMinutes(10), 10, 1000, Duration.ofDays(7));
+    }
+
+    private static Message<String> message(String messageId, String payload) {
+        MessageBuilder<String> builder = MessageBuilder.withPayload(payload);
+        if (messageId != null) {
+            builder.setHeader(AmqpHeaders.MESSAGE_ID, messageId);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void shouldDropIdsStoredByEarlierConsumers() {
+        when(processedMessageRepository.findProcessedIds(anyCollection())).thenReturn(List.of("m-1"));
+
+        List<String> payloads = messageDeduplicator.firstDeliveries(List.of(
+                message("m-1", "first"), message("m-2", "second"), message("m-2", "second again")));
+
+        assertThat(payloads).containsExactly("second");
+        verify(processedMessageRepository).saveAll(anyList());
+        assertThat(meterRegistry.get("messaging.dedup.duplicates").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAnswerRecentIdsFromMemory() {
+        when(processedMessageRepository.findProcessedIds(anyCollection())).thenReturn(List.of());
+        messageDeduplicator.firstDeliveries(List.of(message("m-1", "first")));
+        clearInvocations(processedMessageRepository);
+
+        List<String> payloads = messageDeduplicator.firstDeliveries(List.of(message("m-1", "first")));
+
+        assertThat(payloads).isEmpty();
+        verifyNoInteractions(processedMessageRepository);
+    }
+
+    @Test
+    void shouldForgetOldestIdsWhenMemoryIsFull() {
+        MessageDeduplicator small = new MessageDeduplicator(processedMessageRepository, meterRegistry,
+                Duration.ofMinutes(10), 2, 2, Duration.ofDays(7));
+        when(processedMessageRepository.findProcessedIds(anyCollection())).thenReturn(List.of());
+        small.firstDelivery("m-1");
+        small.firstDelivery("m-2");
+        small.firstDelivery("m-3");
+        clearInvocations(processedMessageRepository);
+
+        assertThat(small.firstDelivery("m-3")).isFalse();
+        verify(processedMessageRepository, never()).findProcessedIds(anyCollection());
+        // m-1 was in the evicted bucket, so the table has to be asked
+        small.firstDelivery("m-1");
+        verify(processedMessageRepository).findProcessedIds(List.of("m-1"));
+    }
+
+    @Test
+    void shouldPassMessagesWithoutId() {
+        List<String> payloads = messageDeduplicator.firstDeliveries(List.of(message(null, "legacy")));
+
+        assertThat(payloads).containsExactly("legacy");
+        assertThat(messageDeduplicator.firstDelivery(null)).isTrue();
+        verifyNoInteractions(processedMessageRepository);
+    }
+}
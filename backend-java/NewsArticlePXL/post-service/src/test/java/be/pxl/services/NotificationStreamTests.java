@@ -0,0 +1,56 @@
+package be.pxl.services;
+
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.dto.response.NotificationResponse;
+import be.pxl.services.services.NotificationStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class NotificationStreamTests {
+    private RabbitTemplate rabbitTemplate;
+    private NotificationStream notificationStream;
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        notificationStream = new NotificationStream(rabbitTemplate, Duration.ofMinutes(1));
+    }
+
+    private NotificationResponse notification(String postAuthor) {
+        return new NotificationResponse(1L, "Goedgekeurd", "Reviewer", postAuthor, LocalDateTime.now(), false);
+    }
+
+    @Test
+    void shouldBroadcastPublishedNotification() {
+        NotificationResponse notification = notification("Author");
+
+        notificationStream.publish(notification);
+
+        verify(rabbitTemplate).convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, "", notification);
+    }
+
+    @Test
+    void shouldOpenEmitterWithConfiguredTimeout() {
+        SseEmitter emitter = notificationStream.subscribe("Author");
+
+        assertThat(emitter.getTimeout()).isEqualTo(60_000L);
+    }
+
+    @Test
+    void shouldIgnoreNotificationsWithoutSubscribers() {
+        notificationStream.subscribe("Author");
+
+        assertThatCode(() -> notificationStream.onNotification(notification("Other"))).doesNotThrowAnyException();
+        assertThatCode(() -> notificationStream.onNotification(notification("Author"))).doesNotThrowAnyException();
+    }
+}
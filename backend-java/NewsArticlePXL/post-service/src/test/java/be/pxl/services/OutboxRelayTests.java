@@ -0,0 +1,120 @@
+package be.pxl.services;
+
+import be.pxl.services.config.CompactMessageConverter;
+import be.pxl.services.domain.OutboxEvent;
+import be.pxl.services.domain.dto.response.PostStatusMessage;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.OutboxEventRepository;
+import be.pxl.services.services.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTests {
+    private OutboxEventRepository outboxEventRepository;
+    private RabbitOperations channelOperations;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        channelOperations = mock(RabbitOperations.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(channelOperations));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        outboxRelay = new OutboxRelay(outboxEventRepository, rabbitTemplate, transactionTemplate, 2, Duration.ofSeconds(1), "post-service");
+    }
+
+    private OutboxEvent event(Long id) {
+        return new OutboxEvent(id, "postQueue", Long.class.getName(), MessageProperties.CONTENT_TYPE_JSON,
+                String.valueOf(id).getBytes(StandardCharsets.UTF_8), LocalDateTime.now());
+    }
+
+    @Test
+    void shouldPublishBatchAndDeleteItAfterConfirm() {
+        List<OutboxEvent> events = List.of(event(1L), event(2L));
+        when(outboxEventRepository.findNextBatch(any(Pageable.class))).thenReturn(events, List.of());
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+
+        outboxRelay.relay();
+
+        verify(channelOperations, times(2)).send(eq("postQueue"), message.capture());
+        verify(channelOperations).waitForConfirmsOrDie(anyLong());
+        verify(outboxEventRepository).deleteAllInBatch(events);
+        assertThat(new String(message.getAllValues().get(0).getBody(), StandardCharsets.UTF_8)).isEqualTo("1");
+        assertThat(message.getAllValues().get(0).getMessageProperties().getHeaders())
+                .containsEntry("__TypeId__", "java.lang.Long");
+        assertThat(message.getAllValues().get(1).getMessageProperties().getMessageId()).isEqualTo("post-service-2");
+    }
+
+    @Test
+    void shouldPublishCompactEventsWithoutTypeHeader() {
+        PostStatusMessage postStatus = new PostStatusMessage(3L, "Jöran", Status.SUBMITTED, LocalDateTime.of(2024, 5, 1, 10, 0), 0L);
+        OutboxEvent compact = new OutboxEvent(3L, "postQueue", PostStatusMessage.class.getName(), CompactMessageConverter.CONTENT_TYPE,
+                CompactMessageConverter.encode(postStatus), LocalDateTime.now());
+        when(outboxEventRepository.findNextBatch(any(Pageable.class))).thenReturn(List.of(compact), List.of());
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+
+        outboxRelay.relay();
+
+        verify(channelOperations).send(eq("postQueue"), message.capture());
+        assertThat(message.getValue().getMessageProperties().getContentType()).isEqualTo(CompactMessageConverter.CONTENT_TYPE);
+        assertThat(message.getValue().getMessageProperties().getHeaders()).doesNotContainKey("__TypeId__");
+        assertThat(CompactMessageConverter.decode(message.getValue().getBody())).isEqualTo(postStatus);
+    }
+
+    @Test
+    void shouldKeepEventsWhenBrokerDoesNotConfirm() {
+        when(outboxEventRepository.findNextBatch(any(Pageable.class))).thenReturn(List.of(event(1L)));
+        doThrow(new AmqpException("nack")).when(channelOperations).waitForConfirmsOrDie(anyLong());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllInBatch(anyList());
+    }
+
+    @Test
+    void shouldTakeTheRelayLockBeforeReadingABatch() {
+        when(outboxEventRepository.findNextBatch(any(Pageable.class))).thenReturn(List.of(event(1L)));
+
+        outboxRelay.relay();
+
+        InOrder order = inOrder(outboxEventRepository);
+        order.verify(outboxEventRepository).lockRelay();
+        order.verify(outboxEventRepository).findNextBatch(any(Pageable.class));
+    }
+
+    @Test
+    void shouldDoNothingWhenOutboxIsEmpty() {
+        when(outboxEventRepository.findNextBatch(any(Pageable.class))).thenReturn(List.of());
+
+        outboxRelay.relay();
+
+        verifyNoInteractions(channelOperations);
+    }
+}
@@ -0,0 +1,72 @@
+package be.pxl.services;
+
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.dto.response.PostResponse;
+import be.pxl.services.enums.Status;
+import be.pxl.services.services.PostCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PostCacheTests {
+    private RabbitTemplate rabbitTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private PostCache postCache;
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        postCache = new PostCache(rabbitTemplate, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    private PostResponse post(Long id) {
+        return new PostResponse(id, "Title", "Content", "Author", Status.PUBLISHED, LocalDateTime.now());
+    }
+
+    @Test
+    void shouldReturnCachedPost() {
+        PostResponse post = post(1L);
+        postCache.put(post);
+
+        assertThat(postCache.get(1L)).containsSame(post);
+        assertThat(postCache.get(2L)).isEmpty();
+    }
+
+    @Test
+    void shouldBroadcastInvalidationToOtherReplicas() {
+        postCache.put(post(1L));
+
+        postCache.invalidate(1L);
+
+        assertThat(postCache.get(1L)).isEmpty();
+        verify(rabbitTemplate).convertAndSend(RabbitMQConfig.POST_CACHE_EXCHANGE, "", 1L);
+    }
+
+    @Test
+    void shouldEvictOnInvalidationFromOtherReplica() {
+        postCache.put(post(1L));
+
+        postCache.onInvalidation(1L);
+
+        assertThat(postCache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void shouldExportHitAndMissMetrics() {
+        postCache.put(post(1L));
+        postCache.get(1L);
+        postCache.get(2L);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "posts").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "posts").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+}
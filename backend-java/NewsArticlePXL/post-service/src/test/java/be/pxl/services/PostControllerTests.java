@@ -14,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -22,6 +23,9 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -52,9 +56,9 @@ public class PostControllerTests {
     public void setUp() {
         postRepository.deleteAll();
 
-        Post post = new Post(1L, "Title", "Content", "Author", Status.DRAFT, LocalDateTime.now());
-        Post post2 = new Post(2L, "Title2", "Content2", "Author2", Status.SUBMITTED, LocalDateTime.now());
-        Post post3 = new Post(3L, "Title3", "Content3", "Author3", Status.PUBLISHED, LocalDateTime.now());
+        Post post = new Post(null, "Title", "Content", "Author", Status.DRAFT, LocalDateTime.now());
+        Post post2 = new Post(null, "Title2", "Content2", "Author2", Status.SUBMITTED, LocalDateTime.now());
+        Post post3 = new Post(null, "Title3", "Content3", "Author3", Status.PUBLISHED, LocalDateTime.now());
         postRepository.saveAll(List.of(post, post2, post3));
     }
 
@@ -89,6 +93,36 @@ public class PostControllerTests {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldReturnNotModified_whenETagMatches() throws Exception {
+        Post post = postRepository.findAll().get(0);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/posts/" + post.getId())
+                        .header("Role", "redacteur"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/" + post.getId())
+                        .header("Role", "redacteur")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldRejectUpdate_whenIfMatchIsStale() throws Exception {
+        Post post = postRepository.findAll().get(0);
+        PostRequest postRequest = new PostRequest("Updated", "Content", "Author", Status.DRAFT);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/posts/" + post.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Role", "redacteur")
+                        .header("If-Match", "\"" + (post.getVersion() + 1) + "\"")
+                        .content(objectMapper.writeValueAsString(postRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void shouldReturnForbiddenOnGetPostById_whenRoleIsInvalid() throws Exception {
         Post post = postRepository.findAll().get(0);
@@ -151,6 +185,25 @@ public class PostControllerTests {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void shouldStreamPostsAsNdjson_whenRoleIsValid() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/posts/stream")
+                        .header("Role", "gebruiker"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void shouldReturnForbiddenOnStreamPosts_whenRoleIsInvalid() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/stream")
+                        .header("Role", "fakeRole"))
+                .andExpect(status().isForbidden());
+    }
+
 //    @Test
 //    void shouldReturnBadRequest_whenCreatingPostWithMissingFields() throws Exception {
 //        PostRequest postRequest = new PostRequest("", "", "Author", Status.DRAFT);
@@ -0,0 +1,89 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.PostStatusEvent;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.OutboxEventRepository;
+import be.pxl.services.repository.PostStatusEventRepository;
+import be.pxl.services.services.PostEventSequencer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class PostEventSequencerTests {
+    private PostStatusEventRepository postStatusEventRepository;
+    private OutboxEventRepository outboxEventRepository;
+    private PostEventSequencer postEventSequencer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        postStatusEventRepository = mock(PostStatusEventRepository.class);
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        postEventSequencer = new PostEventSequencer(postStatusEventRepository, outboxEventRepository, transactionTemplate, 2);
+    }
+
+    private static PostStatusEvent unsequenced(long id, long postId, long postVersion) {
+        return PostStatusEvent.builder().id(id).postId(postId).postVersion(postVersion).status(Status.SUBMITTED).build();
+    }
+
+    @Test
+    void shouldNumberCommittedEventsAfterTheLastOffsetUnderTheRelayLock() {
+        // Pooled ids from two replicas: the later change of post 10 has the lower id
+        PostStatusEvent first = unsequenced(60, 10, 1);
+        PostStatusEvent second = unsequenced(12, 10, 2);
+        when(postStatusEventRepository.findUnsequenced(any(Pageable.class))).thenReturn(List.of(first, second), List.of());
+        when(postStatusEventRepository.findLastOffset()).thenReturn(41L);
+
+        postEventSequencer.sequence();
+
+        assertThat(first.getLogOffset()).isEqualTo(42L);
+        assertThat(second.getLogOffset()).isEqualTo(43L);
+        assertThat(second.isAfter(first)).isTrue();
+        InOrder order = inOrder(outboxEventRepository, postStatusEventRepository);
+        order.verify(outboxEventRepository).lockRelay();
+        order.verify(postStatusEventRepository).findUnsequenced(any(Pageable.class));
+    }
+
+    @Test
+    void shouldStartTheLogAtOffsetOne() {
+        PostStatusEvent event = unsequenced(1, 10, 0);
+        when(postStatusEventRepository.findUnsequenced(any(Pageable.class))).thenReturn(List.of(event));
+
+        postEventSequencer.sequence();
+
+        assertThat(event.getLogOffset()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldKeepGoingWhileBatchesAreFull() {
+        when(postStatusEventRepository.findUnsequenced(any(Pageable.class))).thenReturn(
+                List.of(unsequenced(1, 10, 0), unsequenced(2, 11, 0)),
+                List.of(unsequenced(3, 12, 0)));
+
+        postEventSequencer.sequence();
+
+        verify(outboxEventRepository, times(2)).lockRelay();
+        verify(postStatusEventRepository, times(2)).findUnsequenced(any(Pageable.class));
+    }
+
+    @Test
+    void shouldNotFailTheScheduledRun() {
+        when(outboxEventRepository.lockRelay()).thenThrow(new IllegalStateException("lock wait timeout"));
+
+        postEventSequencer.run();
+
+        verifyNoInteractions(postStatusEventRepository);
+    }
+}
@@ -0,0 +1,199 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostStatusEvent;
+import be.pxl.services.domain.dto.response.PostEventReplayResponse;
+import be.pxl.services.enums.Status;
+import be.pxl.services.exceptions.InvalidReplayException;
+import be.pxl.services.repository.PostStatusEventRepository;
+import be.pxl.services.services.PostEventSequencer;
+import be.pxl.services.services.PostEventService;
+import be.pxl.services.services.PostReadModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class PostEventServiceTests {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    private PostStatusEventRepository postStatusEventRepository;
+    private PostEventSequencer postEventSequencer;
+    private RecordingReadModel counters;
+    private RecordingReadModel feed;
+    private PostEventService postEventService;
+
+    @BeforeEach
+    void setUp() {
+        postStatusEventRepository = mock(PostStatusEventRepository.class);
+        counters = new RecordingReadModel("statistics", false);
+        feed = new RecordingReadModel("post-status-feed", true);
+        postEventSequencer = mock(PostEventSequencer.class);
+        postEventService = new PostEventService(postStatusEventRepository, postEventSequencer, List.of(counters, feed), 2, 3);
+    }
+
+    private static PostStatusEvent event(long offset, long postId, Status status, LocalDateTime occurredAt) {
+        return PostStatusEvent.builder().id(offset).logOffset(offset).postId(postId).author("Jan").status(status).occurredAt(occurredAt).build();
+    }
+
+    private void givenLog(PostStatusEvent... events) {
+        List<PostStatusEvent> log = List.of(events);
+        when(postStatusEventRepository.findFirstOffset()).thenReturn(log.get(0).getLogOffset());
+        when(postStatusEventRepository.findLastOffset()).thenReturn(log.get(log.size() - 1).getLogOffset());
+        when(postStatusEventRepository.findByLogOffsetBetweenOrderByLogOffsetAsc(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            return log.stream().filter(event -> event.getLogOffset() >= from && event.getLogOffset() <= to).toList();
+        });
+    }
+
+    @Test
+    void shouldReplayLatestEventPerPostInChunks() {
+        givenLog(
+                event(1, 10, Status.DRAFT, NOW),
+                event(2, 11, Status.SUBMITTED, NOW),
+                event(3, 10, Status.SUBMITTED, NOW.plusMinutes(1)),
+                event(4, 12, Status.DRAFT, NOW),
+                event(5, 11, Status.PUBLISHED, NOW.plusMinutes(2)));
+
+        PostEventReplayResponse response = postEventService.replay(0L, null);
+
+        assertThat(response.getEvents()).isEqualTo(5);
+        assertThat(response.getPosts()).isEqualTo(3);
+        assertThat(response.getToOffset()).isEqualTo(5L);
+        assertThat(response.getReadModels()).containsExactly("post-status-feed", "statistics");
+        assertThat(counters.fromStart).isTrue();
+        assertThat(counters.ended).isTrue();
+        assertThat(counters.replayed).extracting(PostStatusEvent::getId).containsExactlyInAnyOrder(3L, 4L, 5L);
+        assertThat(feed.replayed).extracting(PostStatusEvent::getId).containsExactlyInAnyOrder(3L, 4L, 5L);
+        // Offsets 1..5 read in ranges of two
+        verify(postStatusEventRepository).findByLogOffsetBetweenOrderByLogOffsetAsc(1L, 2L);
+        verify(postStatusEventRepository).findByLogOffsetBetweenOrderByLogOffsetAsc(3L, 4L);
+        verify(postStatusEventRepository).findByLogOffsetBetweenOrderByLogOffsetAsc(5L, 5L);
+    }
+
+    @Test
+    void shouldPreferHigherOffsetOverLaterClock() {
+        // The sequencer numbers a post's events by version; the replica that took the later one had a clock running behind
+        givenLog(
+                event(1, 10, Status.SUBMITTED, NOW.plusMinutes(1)),
+                event(2, 10, Status.PUBLISHED, NOW));
+
+        postEventService.replay(0L, Set.of("post-status-feed"));
+
+        assertThat(feed.replayed).extracting(PostStatusEvent::getStatus).containsExactly(Status.PUBLISHED);
+        assertThat(counters.replayed).isEmpty();
+    }
+
+    @Test
+    void shouldAppendWithThePostVersionAndLeaveTheOffsetToTheSequencer() {
+        Post post = Post.builder().id(10L).author("Jan").status(Status.SUBMITTED).version(3L).build();
+
+        postEventService.append(post, Status.DRAFT, NOW);
+
+        verify(postStatusEventRepository).save(argThat(event -> event.getLogOffset() == null
+                && event.getPostId() == 10L && event.getPostVersion() == 3L && event.getPreviousStatus() == Status.DRAFT));
+        verifyNoInteractions(postEventSequencer);
+    }
+
+    @Test
+    void shouldBeginReplayAndSequencePendingEventsBeforeReadingTheLastOffset() {
+        givenLog(event(1, 10, Status.DRAFT, NOW));
+        List<Boolean> begunWhenSequenced = new ArrayList<>();
+        doAnswer(invocation -> begunWhenSequenced.add(counters.begun && feed.begun)).when(postEventSequencer).sequence();
+
+        postEventService.replay(0L, null);
+
+        assertThat(begunWhenSequenced).containsExactly(true);
+        InOrder order = inOrder(postEventSequencer, postStatusEventRepository);
+        order.verify(postEventSequencer).sequence();
+        order.verify(postStatusEventRepository).findLastOffset();
+    }
+
+    @Test
+    void shouldReplayEventsThatOnlyGotTheirOffsetWhenTheReplayBegan() {
+        when(postStatusEventRepository.findFirstOffset()).thenReturn(null);
+        when(postStatusEventRepository.findLastOffset()).thenReturn(1L);
+        when(postStatusEventRepository.findByLogOffsetBetweenOrderByLogOffsetAsc(anyLong(), anyLong()))
+                .thenReturn(List.of(event(1, 10, Status.DRAFT, NOW)));
+
+        PostEventReplayResponse response = postEventService.replay(0L, null);
+
+        assertThat(response.getPosts()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReplayOnlyChangesFromOffset() {
+        givenLog(
+                event(1, 10, Status.DRAFT, NOW),
+                event(2, 11, Status.DRAFT, NOW),
+                event(3, 11, Status.SUBMITTED, NOW.plusMinutes(1)));
+
+        PostEventReplayResponse response = postEventService.replay(3L, Set.of("post-status-feed"));
+
+        assertThat(response.getEvents()).isEqualTo(1);
+        assertThat(feed.fromStart).isFalse();
+        assertThat(feed.replayed).extracting(PostStatusEvent::getPostId).containsExactly(11L);
+    }
+
+    @Test
+    void shouldRejectPartialReplayOfFullOnlyModelsAndUnknownModels() {
+        givenLog(event(1, 10, Status.DRAFT, NOW), event(2, 11, Status.DRAFT, NOW));
+
+        assertThatThrownBy(() -> postEventService.replay(2L, Set.of("statistics")))
+                .isInstanceOf(InvalidReplayException.class);
+        assertThatThrownBy(() -> postEventService.replay(0L, Set.of("feeds")))
+                .isInstanceOf(InvalidReplayException.class);
+        assertThat(counters.ended).isFalse();
+    }
+
+    private static class RecordingReadModel implements PostReadModel {
+        private final String name;
+        private final boolean partial;
+        private final List<PostStatusEvent> replayed = Collections.synchronizedList(new ArrayList<>());
+        private boolean fromStart;
+        private boolean begun;
+        private boolean ended;
+
+        RecordingReadModel(String name, boolean partial) {
+            this.name = name;
+            this.partial = partial;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean supportsPartialReplay() {
+            return partial;
+        }
+
+        @Override
+        public void beginReplay(boolean fromStart) {
+            this.fromStart = fromStart;
+            begun = true;
+        }
+
+        @Override
+        public void replay(List<PostStatusEvent> latestEvents) {
+            replayed.addAll(latestEvents);
+        }
+
+        @Override
+        public void endReplay() {
+            ended = true;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.PostRepository;
+import be.pxl.services.services.PostSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PostSearchIndexTests {
+    private PostRepository postRepository;
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        postSearchIndex = new PostSearchIndex(postRepository);
+    }
+
+    private Post post(Long id, String content, String author, Status status) {
+        return new Post(id, "Title " + id, content, author, status, LocalDateTime.now());
+    }
+
+    private List<Long> ids(List<PostSearchIndex.SearchHit> hits) {
+        return hits.stream().map(PostSearchIndex.SearchHit::postId).toList();
+    }
+
+    @Test
+    void shouldRequireAllTermsToMatch() {
+        postSearchIndex.index(post(1L, "De nieuwe bibliotheek opent", "Jan", Status.PUBLISHED));
+        postSearchIndex.index(post(2L, "De bibliotheek sluit", "Piet", Status.PUBLISHED));
+
+        assertThat(ids(postSearchIndex.search("bibliotheek nieuwe", null, null, null, null))).containsExactly(1L);
+        assertThat(ids(postSearchIndex.search("bibliotheek", null, null, null, null))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void shouldRankPostsWithMoreOccurrencesHigher() {
+        postSearchIndex.index(post(1L, "sport en cultuur", "Jan", Status.PUBLISHED));
+        postSearchIndex.index(post(2L, "sport sport sport", "Jan", Status.PUBLISHED));
+        postSearchIndex.index(post(3L, "cultuur", "Jan", Status.PUBLISHED));
+
+        assertThat(ids(postSearchIndex.search("sport", null, null, null, null))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void shouldReturnNewestHitsAfterKeysetPosition() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 10, 12, 0);
+        postSearchIndex.index(new Post(1L, "Title 1", "sport sport sport", "Jan", Status.PUBLISHED, now.minusDays(3)));
+        postSearchIndex.index(new Post(2L, "Title 2", "sport", "Jan", Status.PUBLISHED, now.minusDays(2)));
+        postSearchIndex.index(new Post(3L, "Title 3", "sport en cultuur", "Jan", Status.PUBLISHED, now.minusDays(1)));
+        postSearchIndex.index(new Post(4L, "Title 4", "sport", "Jan", Status.PUBLISHED, now.minusDays(1)));
+
+        assertThat(ids(postSearchIndex.searchNewest("sport", null, null, null, null, null, null, 3))).containsExactly(4L, 3L, 2L);
+        assertThat(ids(postSearchIndex.searchNewest("sport", null, null, null, null, now.minusDays(1), 3L, 3))).containsExactly(2L, 1L);
+
+        // A newer post indexed between two pages does not move the hits of the next page
+        postSearchIndex.index(new Post(5L, "Title 5", "sport sport", "Jan", Status.PUBLISHED, now));
+        assertThat(ids(postSearchIndex.searchNewest("sport", null, null, null, null, now.minusDays(1), 3L, 3))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void shouldMatchPrefixesCaseAndAccentInsensitive() {
+        postSearchIndex.index(post(1L, "Het Café is geëvalueerd", "Jan Peeters", Status.PUBLISHED));
+
+        assertThat(ids(postSearchIndex.search("cafe GEEVAL", null, null, null, null))).containsExactly(1L);
+        assertThat(ids(postSearchIndex.search(null, "peet", null, null, null))).containsExactly(1L);
+    }
+
+    @Test
+    void shouldApplyStatusAndDateFilters() {
+        postSearchIndex.index(post(1L, "verkiezingen", "Jan", Status.PUBLISHED));
+        postSearchIndex.index(post(2L, "verkiezingen", "Jan", Status.DRAFT));
+
+        assertThat(ids(postSearchIndex.search("verkiezingen", null, null, null, Status.PUBLISHED))).containsExactly(1L);
+        assertThat(postSearchIndex.search("verkiezingen", null, LocalDateTime.now().plusDays(1), null, null)).isEmpty();
+    }
+
+    @Test
+    void shouldReplacePostingsWhenPostIsReindexed() {
+        Post post = post(1L, "oude tekst", "Jan", Status.DRAFT);
+        postSearchIndex.index(post);
+        post.setContent("nieuwe tekst");
+        postSearchIndex.index(post);
+
+        assertThat(postSearchIndex.search("oude", null, null, null, null)).isEmpty();
+        assertThat(ids(postSearchIndex.search("nieuwe", null, null, null, null))).containsExactly(1L);
+    }
+
+    @Test
+    void shouldRebuildFromRepository() {
+        when(postRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(post(1L, "herbouwde index", "Jan", Status.PUBLISHED)));
+        when(postRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of());
+        postSearchIndex.index(post(99L, "verouderd", "Jan", Status.PUBLISHED));
+
+        postSearchIndex.rebuild();
+
+        assertThat(postSearchIndex.search("verouderd", null, null, null, null)).isEmpty();
+        assertThat(ids(postSearchIndex.search("herbouwde", null, null, null, null))).containsExactly(1L);
+    }
+
+    @Test
+    void shouldReindexOrRemovePostOnChangeBroadcast() {
+        postSearchIndex.index(post(1L, "oude tekst", "Jan", Status.DRAFT));
+        postSearchIndex.index(post(2L, "verwijderde post", "Jan", Status.DRAFT));
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post(1L, "nieuwe tekst", "Jan", Status.SUBMITTED)));
+        when(postRepository.findById(2L)).thenReturn(Optional.empty());
+
+        postSearchIndex.onPostChanged(1L);
+        postSearchIndex.onPostChanged(2L);
+
+        assertThat(postSearchIndex.search("oude", null, null, null, null)).isEmpty();
+        assertThat(ids(postSearchIndex.search("nieuwe", null, null, null, null))).containsExactly(1L);
+        assertThat(postSearchIndex.search("verwijderde", null, null, null, null)).isEmpty();
+    }
+
+    @Test
+    void shouldNotReplacePostWithAnOlderVersion() {
+        Post newer = post(1L, "nieuwe tekst", "Jan", Status.PUBLISHED);
+        newer.setVersion(3L);
+        Post older = post(1L, "oude tekst", "Jan", Status.SUBMITTED);
+        older.setVersion(2L);
+
+        postSearchIndex.index(newer);
+        postSearchIndex.index(older);
+
+        assertThat(postSearchIndex.search("oude", null, null, null, null)).isEmpty();
+        assertThat(ids(postSearchIndex.search("nieuwe", null, null, null, null))).containsExactly(1L);
+    }
+}
@@ -1,28 +1,63 @@
 package be.pxl.services;
 
+import be.pxl.services.domain.Notification;
 import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostSummary;
+import be.pxl.services.domain.dto.request.NotificationRequest;
 import be.pxl.services.domain.dto.request.PostRequest;
+import be.pxl.services.domain.dto.response.CursorPage;
+import be.pxl.services.domain.dto.response.NotificationResponse;
 import be.pxl.services.domain.dto.response.PostResponse;
+import be.pxl.services.domain.dto.response.PostStatusMessage;
+import be.pxl.services.domain.dto.response.PostSummaryResponse;
 import be.pxl.services.domain.dto.response.ReviewMessage;
 import be.pxl.services.enums.Status;
+import be.pxl.services.repository.NotificationRepository;
 import be.pxl.services.repository.PostRepository;
+import be.pxl.services.services.MessageDeduplicator;
+import be.pxl.services.services.NotificationStream;
+import be.pxl.services.services.Outbox;
+import be.pxl.services.services.PostCache;
+import be.pxl.services.services.PostCursor;
+import be.pxl.services.services.PostEventService;
+import be.pxl.services.services.PostSearchIndex;
 import be.pxl.services.services.PostService;
+import be.pxl.services.services.PostStatistics;
+import be.pxl.services.services.ReviewConsumerMetrics;
+import be.pxl.services.services.ReviewPartitions;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import static org.mockito.Mockito.when;
+import be.pxl.services.exceptions.InvalidCursorException;
 import be.pxl.services.exceptions.InvalidStatusException;
 import be.pxl.services.exceptions.NotFoundException;
+import be.pxl.services.exceptions.PreconditionFailedException;
 import java.util.Optional;
+import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 public class PostServiceTests {
@@ -34,11 +69,50 @@ public class PostServiceTests {
     private PostRepository postRepository;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private Outbox outbox;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private PostCache postCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PostStatistics postStatistics;
+
+    @Mock
+    private NotificationStream notificationStream;
+
+    @Mock
+    private ReviewConsumerMetrics reviewConsumerMetrics;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private MessageDeduplicator messageDeduplicator;
+
+    @Mock
+    private PostEventService postEventService;
 
     @BeforeEach
+    @SuppressWarnings("unchecked")
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(messageDeduplicator.firstDelivery(any())).thenReturn(true);
+        when(messageDeduplicator.firstDeliveries(anyList())).thenAnswer(invocation ->
+                ((List<Message<?>>) invocation.getArgument(0)).stream().map(Message::getPayload).toList());
+        when(messageDeduplicator.firstDeliveryMessages(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @SafeVarargs
+    private static <T> List<Message<T>> messages(T... payloads) {
+        return Stream.of(payloads)
+                .map(payload -> MessageBuilder.withPayload(payload).build())
+                .toList();
     }
 
     @Test
@@ -57,7 +131,103 @@ public class PostServiceTests {
         assertThat(response.getTitle()).isEqualTo("Title");
         assertThat(response.getId()).isEqualTo(1L);
         verify(postRepository).save(any(Post.class));
-        verify(rabbitTemplate).convertAndSend("postQueue", 1L); // Controleer dat het ID juist is
+        ArgumentCaptor<PostStatusMessage> message = ArgumentCaptor.forClass(PostStatusMessage.class);
+        verify(outbox).enqueue(eq("postQueue"), message.capture()); // Controleer dat het ID juist is
+        assertThat(message.getValue().getId()).isEqualTo(1L);
+        assertThat(message.getValue().getAuthor()).isEqualTo("Author");
+        assertThat(message.getValue().getStatus()).isEqualTo(Status.DRAFT);
+    }
+
+    @Test
+    void shouldCreatePostsInBatchAndQueueTheirIds() {
+        List<PostRequest> postRequests = List.of(
+                new PostRequest("Title 1", "Content 1", "Author", Status.DRAFT),
+                new PostRequest("Title 2", "Content 2", "Author", Status.SUBMITTED));
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Post> posts = invocation.getArgument(0);
+            long id = 1L;
+            for (Post post : posts) {
+                post.setId(id++);
+            }
+            return posts;
+        });
+
+        List<PostResponse> responses = postService.createPosts(postRequests);
+
+        assertThat(responses).extracting(PostResponse::getId).containsExactly(1L, 2L);
+        verify(postRepository).saveAll(anyList());
+        verify(postRepository, never()).save(any(Post.class));
+        verify(postCache).invalidate(1L);
+        verify(postCache).invalidate(2L);
+        ArgumentCaptor<PostStatusMessage> messages = ArgumentCaptor.forClass(PostStatusMessage.class);
+        verify(outbox, times(2)).enqueue(eq("postQueue"), messages.capture());
+        assertThat(messages.getAllValues()).extracting(PostStatusMessage::getId).containsExactly(1L, 2L);
+        assertThat(messages.getAllValues()).extracting(PostStatusMessage::getStatus)
+                .containsExactly(Status.DRAFT, Status.SUBMITTED);
+    }
+
+    @Test
+    void shouldRejectWholeBatchWhenOnePostIsInvalid() {
+        List<PostRequest> postRequests = List.of(
+                new PostRequest("Title 1", "Content 1", "Author", Status.DRAFT),
+                new PostRequest("Title 2", "Content 2", "Author", Status.PUBLISHED));
+
+        assertThatThrownBy(() -> postService.createPosts(postRequests))
+                .isInstanceOf(InvalidStatusException.class);
+
+        verify(postRepository, never()).saveAll(anyList());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        assertThatThrownBy(() -> postService.createPosts(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(postRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldGetBatchFromCacheAndOneQueryInRequestedOrder() {
+        PostResponse cached = new PostResponse();
+        cached.setId(2L);
+        when(postCache.get(2L)).thenReturn(Optional.of(cached));
+        when(postCache.get(1L)).thenReturn(Optional.empty());
+        when(postCache.get(3L)).thenReturn(Optional.empty());
+        when(postRepository.findAllById(List.of(3L, 1L))).thenReturn(List.of(
+                Post.builder().id(1L).title("Title 1").status(Status.SUBMITTED).build()));
+
+        List<PostResponse> responses = postService.getPostsByIds(List.of(3L, 2L, 1L, 2L));
+
+        assertThat(responses).extracting(PostResponse::getId).containsExactly(2L, 1L);
+        verify(postRepository).findAllById(List.of(3L, 1L));
+        verify(postCache).put(any(PostResponse.class));
+    }
+
+    @Test
+    void shouldStoreExcerptWhenCreatingPost() {
+        String content = "woord ".repeat(100);
+        PostRequest postRequest = new PostRequest("Title", content, "Author", Status.DRAFT);
+        ArgumentCaptor<Post> saved = ArgumentCaptor.forClass(Post.class);
+
+        postService.createPost(postRequest);
+
+        verify(postRepository).save(saved.capture());
+        assertThat(saved.getValue().getExcerpt())
+                .hasSizeLessThanOrEqualTo(Post.EXCERPT_LENGTH + 1)
+                .startsWith("woord woord")
+                .endsWith("woord…");
+    }
+
+    @Test
+    void shouldKeepShortContentAsExcerptWhenUpdatingPost() {
+        Post existingPost = Post.builder().id(1L).title("Title").content("Oud").status(Status.DRAFT).build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(existingPost));
+        when(postRepository.save(existingPost)).thenReturn(existingPost);
+
+        postService.updatePost(1L, new PostRequest("Title", "  Korte\n nieuwe   tekst ", "Author", Status.DRAFT));
+
+        assertThat(existingPost.getExcerpt()).isEqualTo("Korte nieuwe tekst");
     }
 
     @Test
@@ -92,6 +262,64 @@ public class PostServiceTests {
         assertThat(response).isNotNull();
         assertThat(response.getTitle()).isEqualTo("Updated Title");
         verify(postRepository).save(any(Post.class));
+        verify(outbox).enqueue(eq("postQueue"), any(PostStatusMessage.class));
+    }
+
+    @Test
+    void shouldReturnNewVersionAfterUpdate() {
+        Post existingPost = Post.builder().id(1L).title("Title").content("Content").author("Author")
+                .status(Status.DRAFT).version(3L).build();
+        Post savedPost = Post.builder().id(1L).title("Updated").content("Content").author("Author")
+                .status(Status.DRAFT).version(4L).build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(existingPost));
+        when(postRepository.save(existingPost)).thenReturn(savedPost);
+
+        PostResponse response = postService.updatePost(1L, new PostRequest("Updated", "Content", "Author", Status.DRAFT), 3L);
+
+        assertThat(response.getVersion()).isEqualTo(4L);
+        // Neither status nor author changed, so review-service has nothing to learn
+        verifyNoInteractions(outbox, postEventService);
+    }
+
+    @Test
+    void shouldRejectUpdateWhenExpectedVersionIsStale() {
+        Post existingPost = Post.builder().id(1L).title("Title").content("Content").author("Author")
+                .status(Status.DRAFT).version(4L).build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(existingPost));
+
+        assertThatThrownBy(() -> postService.updatePost(1L, new PostRequest("Updated", "Content", "Author", Status.DRAFT), 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
+    @Test
+    void shouldTranslateConcurrentModificationIntoPreconditionFailure() {
+        Post existingPost = Post.builder().id(1L).title("Title").content("Content").author("Author")
+                .status(Status.DRAFT).version(3L).build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(existingPost));
+        when(postRepository.save(existingPost)).thenThrow(new ObjectOptimisticLockingFailureException(Post.class, 1L));
+
+        assertThatThrownBy(() -> postService.updatePost(1L, new PostRequest("Updated", "Content", "Author", Status.DRAFT), 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void shouldServePostVersionFromCache() {
+        PostResponse cached = new PostResponse(1L, "Title", "Content", "Author", Status.PUBLISHED, LocalDateTime.now(), 7L);
+        when(postCache.get(1L)).thenReturn(Optional.of(cached));
+
+        assertThat(postService.getPostVersion(1L)).isEqualTo(7L);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void shouldLoadOnlyTheVersionOnCacheMiss() {
+        when(postCache.get(1L)).thenReturn(Optional.empty());
+        when(postRepository.findVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertThat(postService.getPostVersion(1L)).isEqualTo(2L);
+        verify(postRepository, never()).findById(any());
     }
 
     @Test
@@ -110,14 +338,15 @@ public class PostServiceTests {
 
     @Test
     void shouldGetPostsByStatus() {
-        when(postRepository.findByStatus(Status.DRAFT)).thenReturn(List.of(
+        when(postRepository.findPageByStatus(eq(Status.DRAFT), isNull(), isNull(), any(Pageable.class))).thenReturn(List.of(
                 Post.builder().id(1L).title("Title").status(Status.DRAFT).build()
         ));
 
-        List<PostResponse> posts = postService.getPostsByStatus(Status.DRAFT);
+        CursorPage<PostResponse> posts = postService.getPostsByStatus(Status.DRAFT, null, null);
 
-        assertThat(posts).hasSize(1);
-        assertThat(posts.get(0).getStatus()).isEqualTo(Status.DRAFT);
+        assertThat(posts.getItems()).hasSize(1);
+        assertThat(posts.getItems().get(0).getStatus()).isEqualTo(Status.DRAFT);
+        assertThat(posts.getNextCursor()).isNull();
     }
 
     @Test
@@ -140,6 +369,27 @@ public class PostServiceTests {
         assertThat(response.getTitle()).isEqualTo("Title");
     }
 
+    @Test
+    void shouldServeCachedPostWithoutDatabaseRoundTrip() {
+        PostResponse cached = new PostResponse(1L, "Title", "Content", "Author", Status.PUBLISHED, LocalDateTime.now());
+        when(postCache.get(1L)).thenReturn(Optional.of(cached));
+
+        PostResponse response = postService.getPostById(1L);
+
+        assertThat(response).isSameAs(cached);
+        verify(postRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldCachePostAfterLoadingIt() {
+        Post post = Post.builder().id(1L).title("Title").status(Status.DRAFT).build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        PostResponse response = postService.getPostById(1L);
+
+        verify(postCache).put(response);
+    }
+
     @Test
     void shouldThrowNotFoundExceptionWhenGettingNonExistentPost() {
         Long postId = 1L;
@@ -167,6 +417,56 @@ public class PostServiceTests {
 
         assertThat(response.getStatus()).isEqualTo(Status.PUBLISHED);
         verify(postRepository).save(any(Post.class));
+        verify(postCache).invalidate(postId);
+        verify(postStatistics).recordChanged(Status.DRAFT, null, post);
+        verify(postEventService).append(eq(post), eq(Status.DRAFT), any(LocalDateTime.class));
+        verify(outbox).enqueue(eq("postQueue"), any(PostStatusMessage.class));
+    }
+
+    @Test
+    void shouldInvalidateCachedPostOnlyAfterCommit() {
+        Post post = Post.builder().id(1L).title("Title").status(Status.DRAFT).build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(any(Post.class))).thenReturn(post);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            postService.updateStatus(1L, Status.PUBLISHED);
+
+            verify(postCache, never()).invalidate(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(postCache).invalidate(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldCountCreatedPostOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            postService.createPost(new PostRequest("Title", "Content", "Author", Status.DRAFT));
+
+            verify(postStatistics, never()).recordCreated(any(Post.class));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(postStatistics).recordCreated(any(Post.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldPushNotificationBatchOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            postService.getNotificationBatch(messages(new NotificationRequest("Je post (1) is geaccepteerd", "Reviewer", "Jan")));
+
+            verify(notificationStream, never()).publish(any(NotificationResponse.class));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(notificationStream).publish(any(NotificationResponse.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -203,14 +503,47 @@ public class PostServiceTests {
         verify(postRepository, never()).save(any(Post.class));
     }
 
+    @Test
+    void shouldGetPostSummariesByStatusWithoutLoadingContent() {
+        PostSummary summary = mock(PostSummary.class);
+        when(summary.getId()).thenReturn(1L);
+        when(summary.getExcerpt()).thenReturn("Excerpt");
+        when(summary.getStatus()).thenReturn(Status.SUBMITTED);
+        when(postRepository.findSummaryPageByStatus(eq(Status.SUBMITTED), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(summary));
+
+        CursorPage<PostSummaryResponse> posts = postService.getPostSummariesByStatus(Status.SUBMITTED, null, null);
+
+        assertThat(posts.getItems()).singleElement()
+                .satisfies(post -> assertThat(post.getExcerpt()).isEqualTo("Excerpt"));
+        verify(postRepository, never()).findPageByStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldLoadSearchResultSummariesInRankedOrder() {
+        PostSummary first = mock(PostSummary.class);
+        when(first.getId()).thenReturn(1L);
+        PostSummary second = mock(PostSummary.class);
+        when(second.getId()).thenReturn(2L);
+        LocalDateTime now = LocalDateTime.now();
+        when(postSearchIndex.searchNewest(eq("news"), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(new PostSearchIndex.SearchHit(1L, 1.0, now), new PostSearchIndex.SearchHit(2L, 2.0, now.minusDays(1))));
+        when(postRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(first, second));
+
+        CursorPage<PostSummaryResponse> posts = postService.getPostSummaries("news", null, null, null, null, null, null);
+
+        assertThat(posts.getItems()).extracting(PostSummaryResponse::getId).containsExactly(2L, 1L);
+        verify(postRepository, never()).findAllById(any());
+    }
+
     @Test
     void shouldReturnEmptyListWhenNoPostsFoundForStatus() {
-        when(postRepository.findByStatus(Status.DRAFT)).thenReturn(List.of());
+        when(postRepository.findPageByStatus(eq(Status.DRAFT), isNull(), isNull(), any(Pageable.class))).thenReturn(List.of());
 
-        List<PostResponse> posts = postService.getPostsByStatus(Status.DRAFT);
+        CursorPage<PostResponse> posts = postService.getPostsByStatus(Status.DRAFT, null, null);
 
-        assertThat(posts).isEmpty();
-        verify(postRepository).findByStatus(Status.DRAFT);
+        assertThat(posts.getItems()).isEmpty();
+        verify(postRepository).findPageByStatus(eq(Status.DRAFT), isNull(), isNull(), any(Pageable.class));
     }
 
     @Test
@@ -218,7 +551,9 @@ public class PostServiceTests {
         LocalDateTime fromDate = LocalDateTime.now().minusDays(1);
         LocalDateTime toDate = LocalDateTime.now();
 
-        when(postRepository.findFilteredPosts("Content", "Author", fromDate, toDate, Status.PUBLISHED))
+        when(postSearchIndex.searchNewest(eq("Content"), eq("Author"), eq(fromDate), eq(toDate), eq(Status.PUBLISHED), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(new PostSearchIndex.SearchHit(1L, 1.0, toDate)));
+        when(postRepository.findAllById(List.of(1L)))
                 .thenReturn(List.of(
                         Post.builder()
                                 .id(1L)
@@ -230,17 +565,137 @@ public class PostServiceTests {
                                 .build()
                 ));
 
-        List<PostResponse> posts = postService.getAllPosts(
+        CursorPage<PostResponse> posts = postService.getAllPosts(
                 "Content",
                 "Author",
                 fromDate,
                 toDate,
-                Status.PUBLISHED
+                Status.PUBLISHED,
+                null,
+                null
         );
 
-        assertThat(posts).hasSize(1);
-        assertThat(posts.get(0).getStatus()).isEqualTo(Status.PUBLISHED);
-        verify(postRepository).findFilteredPosts("Content", "Author", fromDate, toDate, Status.PUBLISHED);
+        assertThat(posts.getItems()).hasSize(1);
+        assertThat(posts.getItems().get(0).getStatus()).isEqualTo(Status.PUBLISHED);
+        verify(postSearchIndex).searchNewest("Content", "Author", fromDate, toDate, Status.PUBLISHED, null, null, 51);
+        verify(postRepository, never()).findFilteredPostsPage(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnSearchResultsInRankedOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        when(postSearchIndex.searchNewest(eq("news"), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(new PostSearchIndex.SearchHit(1L, 1.5, now), new PostSearchIndex.SearchHit(2L, 3.0, now.minusDays(1))));
+        when(postRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(
+                Post.builder().id(1L).title("Less relevant").build(),
+                Post.builder().id(2L).title("Most relevant").build()
+        ));
+
+        CursorPage<PostResponse> posts = postService.getAllPosts("news", null, null, null, null, null, null);
+
+        assertThat(posts.getItems()).extracting(PostResponse::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void shouldPageSearchResultsOnCreationDateAndRankWithinPage() {
+        LocalDateTime newest = LocalDateTime.of(2024, 1, 3, 12, 0);
+        when(postSearchIndex.searchNewest("news", null, null, null, null, null, null, 3)).thenReturn(List.of(
+                new PostSearchIndex.SearchHit(3L, 1.0, newest),
+                new PostSearchIndex.SearchHit(2L, 3.0, newest.minusDays(1)),
+                new PostSearchIndex.SearchHit(1L, 2.0, newest.minusDays(2))
+        ));
+        when(postSearchIndex.searchNewest("news", null, null, null, null, newest.minusDays(1), 2L, 3)).thenReturn(List.of(
+                new PostSearchIndex.SearchHit(1L, 2.0, newest.minusDays(2))
+        ));
+        when(postRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Post> posts = new ArrayList<>();
+            ((Iterable<Long>) invocation.getArgument(0)).forEach(id -> posts.add(Post.builder().id(id).build()));
+            return posts;
+        });
+
+        CursorPage<PostResponse> firstPage = postService.getAllPosts("news", null, null, null, null, null, 2);
+        CursorPage<PostResponse> secondPage = postService.getAllPosts("news", null, null, null, null, firstPage.getNextCursor(), 2);
+
+        assertThat(firstPage.getItems()).extracting(PostResponse::getId).containsExactly(2L, 3L);
+        assertThat(PostCursor.decode(firstPage.getNextCursor())).isEqualTo(PostCursor.afterDate(newest.minusDays(1), 2L));
+        assertThat(secondPage.getItems()).extracting(PostResponse::getId).containsExactly(1L);
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldReturnNextCursorFromLastPostOfFullPage() {
+        LocalDateTime newest = LocalDateTime.of(2024, 1, 3, 12, 0);
+        when(postRepository.findFilteredPostsPage(isNull(), isNull(), eq(Status.PUBLISHED), isNull(), isNull(), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(
+                        Post.builder().id(3L).creationDate(newest).build(),
+                        Post.builder().id(2L).creationDate(newest.minusDays(1)).build(),
+                        Post.builder().id(1L).creationDate(newest.minusDays(2)).build()
+                ));
+
+        CursorPage<PostResponse> page = postService.getAllPosts(null, null, null, null, Status.PUBLISHED, null, 2);
+
+        assertThat(page.getItems()).extracting(PostResponse::getId).containsExactly(3L, 2L);
+        PostCursor cursor = PostCursor.decode(page.getNextCursor());
+        assertThat(cursor.creationDate()).isEqualTo(newest.minusDays(1));
+        assertThat(cursor.id()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldCapPageSizeAtConfiguredMaximum() {
+        when(postRepository.findFilteredPostsPage(any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        postService.getAllPosts(null, null, null, null, null, null, 10_000);
+
+        verify(postRepository).findFilteredPostsPage(isNull(), isNull(), isNull(), isNull(), isNull(), eq(PageRequest.of(0, 201)));
+    }
+
+    @Test
+    void shouldRejectScoreCursorOfEarlierSearches() {
+        String scoreCursor = Base64.getUrlEncoder().withoutPadding().encodeToString("s|1.0|1".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> postService.getAllPosts("news", null, null, null, null, scoreCursor, null))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void shouldQueryRepositoryDirectlyWhenNoTextFilterIsGiven() {
+        when(postRepository.findFilteredPostsPage(isNull(), isNull(), eq(Status.PUBLISHED), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(Post.builder().id(1L).title("Title").status(Status.PUBLISHED).build()));
+
+        CursorPage<PostResponse> posts = postService.getAllPosts(" ", null, null, null, Status.PUBLISHED, null, null);
+
+        assertThat(posts.getItems()).hasSize(1);
+        verify(postSearchIndex, never()).searchNewest(any(), any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldStreamPostsAndDetachEachEntity() {
+        Post first = Post.builder().id(2L).title("Second").status(Status.PUBLISHED).build();
+        Post second = Post.builder().id(1L).title("First").status(Status.PUBLISHED).build();
+        when(postRepository.streamFilteredPosts(null, null, Status.PUBLISHED)).thenReturn(Stream.of(first, second));
+        List<PostResponse> streamed = new ArrayList<>();
+
+        postService.streamPosts(null, null, null, null, Status.PUBLISHED, streamed::add);
+
+        assertThat(streamed).extracting(PostResponse::getId).containsExactly(2L, 1L);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void shouldStreamSearchResultsInRankedOrder() {
+        when(postSearchIndex.search("news", null, null, null, null))
+                .thenReturn(List.of(new PostSearchIndex.SearchHit(1L, 2.0, null), new PostSearchIndex.SearchHit(2L, 1.0, null)));
+        when(postRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                Post.builder().id(2L).build(),
+                Post.builder().id(1L).build()
+        ));
+        List<PostResponse> streamed = new ArrayList<>();
+
+        postService.streamPosts("news", null, null, null, null, streamed::add);
+
+        assertThat(streamed).extracting(PostResponse::getId).containsExactly(1L, 2L);
+        verify(postRepository, never()).streamFilteredPosts(any(), any(), any());
     }
 
     @Test
@@ -285,10 +740,31 @@ public class PostServiceTests {
 
         when(postRepository.findById(reviewMessage.getId())).thenReturn(Optional.of(post));
 
-        postService.getReviews(reviewMessage);
+        postService.getReviews(reviewMessage, "review-service-1", null);
 
         verify(postRepository).save(post);
+        verify(postCache).invalidate(post.getId());
         assertThat(post.getStatus()).isEqualTo(Status.PUBLISHED);
+        ArgumentCaptor<PostStatusMessage> message = ArgumentCaptor.forClass(PostStatusMessage.class);
+        verify(outbox).enqueue(eq("postQueue"), message.capture());
+        assertThat(message.getValue().getStatus()).isEqualTo(Status.PUBLISHED);
+    }
+
+    @Test
+    void shouldSendTheVersionAfterTheReviewWithTheStatusChange() {
+        Post post = Post.builder().id(1L).author("Jan").status(Status.SUBMITTED).version(3L).build();
+        when(postRepository.findAllById(anyCollection())).thenReturn(List.of(post));
+        // The flush is what bumps the version of a changed post
+        doAnswer(invocation -> {
+            post.setVersion(post.getVersion() + 1);
+            return null;
+        }).when(postRepository).flush();
+
+        postService.getReviewBatch(messages(new ReviewMessage(1L, Status.ACCEPTED)));
+
+        ArgumentCaptor<PostStatusMessage> message = ArgumentCaptor.forClass(PostStatusMessage.class);
+        verify(outbox).enqueue(eq("postQueue"), message.capture());
+        assertThat(message.getValue().getVersion()).isEqualTo(4L);
     }
 
     @Test
@@ -297,10 +773,201 @@ public class PostServiceTests {
 
         when(postRepository.findById(reviewMessage.getId())).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> postService.getReviews(reviewMessage))
+        assertThatThrownBy(() -> postService.getReviews(reviewMessage, "review-service-1", null))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessage("Post with ID " + reviewMessage.getId() + " not found");
 
         verify(postRepository, never()).save(any(Post.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldDropRedeliveredReviewMessageBeforeLookup() {
+        when(messageDeduplicator.firstDelivery("review-service-1")).thenReturn(false);
+
+        postService.getReviews(new ReviewMessage(1L, Status.ACCEPTED), "review-service-1", null);
+
+        verifyNoInteractions(postRepository, postCache);
+    }
+
+    @Test
+    void shouldNotLoadPostsWhenWholeReviewBatchWasRedelivered() {
+        when(messageDeduplicator.firstDeliveryMessages(anyList())).thenReturn(List.of());
+
+        postService.getReviewBatch(messages(new ReviewMessage(1L, Status.ACCEPTED)));
+
+        verifyNoInteractions(postRepository, postCache);
+    }
+
+    @Test
+    void shouldApplyReviewBatchWithOneLookupAndOneSave() {
+        Post first = Post.builder().id(1L).author("Jan").status(Status.SUBMITTED).build();
+        Post second = Post.builder().id(2L).author("Piet").status(Status.SUBMITTED).build();
+        when(postRepository.findAllById(anyCollection())).thenReturn(List.of(first, second));
+
+        postService.getReviewBatch(messages(
+                new ReviewMessage(1L, Status.ACCEPTED),
+                new ReviewMessage(2L, Status.REJECTED)));
+
+        assertThat(first.getStatus()).isEqualTo(Status.PUBLISHED);
+        assertThat(second.getStatus()).isEqualTo(Status.REJECTED);
+        verify(postRepository).findAllById(anyCollection());
+        verify(postRepository, never()).findById(any());
+        verify(postRepository).saveAll(List.of(first, second));
+        verify(postCache).invalidate(1L);
+        verify(postCache).invalidate(2L);
+        verify(postStatistics).recordChanged(Status.SUBMITTED, "Jan", first);
+        verify(reviewConsumerMetrics).record(eq(ReviewConsumerMetrics.BATCH), eq(2), anyLong());
+    }
+
+    @Test
+    void shouldApplyLastReviewAndKeepOriginalStatusForStatistics() {
+        Post post = Post.builder().id(1L).author("Jan").status(Status.SUBMITTED).build();
+        when(postRepository.findAllById(anyCollection())).thenReturn(List.of(post));
+
+        postService.getReviewBatch(messages(
+                new ReviewMessage(1L, Status.REJECTED),
+                new ReviewMessage(1L, Status.ACCEPTED)));
+
+        assertThat(post.getStatus()).isEqualTo(Status.PUBLISHED);
+        verify(postRepository).saveAll(List.of(post));
+        verify(postStatistics).recordChanged(Status.SUBMITTED, "Jan", post);
+    }
+
+    private static Message<ReviewMessage> review(long postId, Status status, long sequence) {
+        return MessageBuilder.withPayload(new ReviewMessage(postId, status))
+                .setHeader(ReviewPartitions.SEQUENCE_HEADER, sequence)
+                .build();
+    }
+
+    @Test
+    void shouldSkipARetriedReviewWhenANewerOneWasAppliedDuringItsBackoff() {
+        Post post = Post.builder().id(1L).author("Jan").status(Status.SUBMITTED).build();
+        when(postRepository.findAllById(anyCollection())).thenReturn(List.of(post));
+
+        // Review 5 failed and waits in a retry queue while review 6 of the same post is consumed from the shard
+        postService.getReviewBatch(List.of(review(1L, Status.ACCEPTED, 6)));
+        postService.getReviewBatch(List.of(review(1L, Status.REJECTED, 5)));
+
+        assertThat(post.getStatus()).isEqualTo(Status.PUBLISHED);
+        assertThat(post.getLastReviewSequence()).isEqualTo(6L);
+        verify(postRepository).saveAll(List.of(post));
+        verify(postRepository).saveAll(List.of());
+        verify(postStatistics, times(1)).recordChanged(any(), any(), any());
+    }
+
+    @Test
+    void shouldSkipAStaleReviewOnThePerMessagePath() {
+        Post post = Post.builder().id(1L).author("Jan").status(Status.PUBLISHED).lastReviewSequence(6L).build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        postService.getReviews(new ReviewMessage(1L, Status.REJECTED), "review-service-5", 5L);
+
+        assertThat(post.getStatus()).isEqualTo(Status.PUBLISHED);
+        verify(postRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldApplyReviewsWithoutSequenceAsTheyCome() {
+        Post post = Post.builder().id(1L).author("Jan").status(Status.PUBLISHED).lastReviewSequence(6L).build();
+        when(postRepository.findAllById(anyCollection())).thenReturn(List.of(post));
+
+        postService.getReviewBatch(messages(new ReviewMessage(1L, Status.REJECTED)));
+
+        assertThat(post.getStatus()).isEqualTo(Status.REJECTED);
+        assertThat(post.getLastReviewSequence()).isEqualTo(6L);
+    }
+
+    @Test
+    void shouldFailReviewBatchWithMissingPostSoItIsRetried() {
+        Post post = Post.builder().id(1L).author("Jan").status(Status.SUBMITTED).build();
+        when(postRepository.findAllById(anyCollection())).thenReturn(List.of(post));
+
+        assertThatThrownBy(() -> postService.getReviewBatch(messages(
+                new ReviewMessage(1L, Status.ACCEPTED),
+                new ReviewMessage(99L, Status.ACCEPTED))))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Post with ID 99 not found");
+
+        verify(postRepository, never()).saveAll(anyList());
+        verifyNoInteractions(postCache);
+    }
+
+    @Test
+    void shouldStoreUnreadNotificationAndPushIt() {
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        ArgumentCaptor<NotificationResponse> pushed = ArgumentCaptor.forClass(NotificationResponse.class);
+
+        postService.getNotification(new NotificationRequest("Goedgekeurd", "Reviewer", "Author"));
+
+        verify(notificationRepository).save(saved.capture());
+        verify(notificationStream).publish(pushed.capture());
+        assertThat(saved.getValue().isRead()).isFalse();
+        assertThat(saved.getValue().getCreationDate()).isNotNull();
+        assertThat(pushed.getValue().getPostAuthor()).isEqualTo("Author");
+        assertThat(pushed.getValue().getMessage()).isEqualTo("Goedgekeurd");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStoreNotificationBatchWithOneSaveAll() {
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+
+        postService.getNotificationBatch(messages(
+                new NotificationRequest("Je post (1) is geaccepteerd", "Reviewer", "Jan"),
+                new NotificationRequest("Je post (2) is geweigerd", "Reviewer", "Piet")));
+
+        verify(notificationRepository).saveAll(saved.capture());
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationStream, times(2)).publish(any(NotificationResponse.class));
+        assertThat(saved.getValue()).extracting(Notification::getPostAuthor).containsExactly("Jan", "Piet");
+        assertThat(saved.getValue()).allSatisfy(notification -> assertThat(notification.getCreationDate()).isNotNull());
+    }
+
+    @Test
+    void shouldPageNotificationsNewestFirst() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Notification> notifications = List.of(
+                Notification.builder().id(5L).message("5").postAuthor("Author").creationDate(now).build(),
+                Notification.builder().id(104L).message("104").postAuthor("Author").creationDate(now.minusMinutes(1)).build(),
+                Notification.builder().id(3L).message("3").postAuthor("Author").creationDate(now.minusMinutes(2)).build());
+        String cursor = PostCursor.afterDate(now.plusMinutes(1), 6L).encode();
+        when(notificationRepository.findInboxPage(eq("Author"), eq(true), eq(now.plusMinutes(1)), eq(6L), any(Pageable.class)))
+                .thenReturn(notifications);
+
+        CursorPage<NotificationResponse> page = postService.getNotificationsForAuthor("Author", true, cursor, 2);
+
+        assertThat(page.getItems()).extracting(NotificationResponse::getId).containsExactly(5L, 104L);
+        assertThat(PostCursor.decode(page.getNextCursor())).isEqualTo(PostCursor.afterDate(now.minusMinutes(1), 104L));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(notificationRepository).findInboxPage(eq("Author"), eq(true), eq(now.plusMinutes(1)), eq(6L), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRejectInvalidNotificationCursor() {
+        assertThatThrownBy(() -> postService.getNotificationsForAuthor("Author", false, "abc", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void shouldMarkGivenNotificationsAsRead() {
+        when(notificationRepository.markAsRead("Author", List.of(1L, 2L))).thenReturn(2);
+
+        assertThat(postService.markNotificationsAsRead("Author", List.of(1L, 2L))).isEqualTo(2);
+        verify(notificationRepository, never()).markAllAsRead(any());
+    }
+
+    @Test
+    void shouldMarkAllNotificationsAsReadWithoutIds() {
+        when(notificationRepository.markAllAsRead("Author")).thenReturn(7);
+
+        assertThat(postService.markNotificationsAsRead("Author", null)).isEqualTo(7);
+    }
+
+    @Test
+    void shouldCountUnreadNotifications() {
+        when(notificationRepository.countByPostAuthorAndReadFalse("Author")).thenReturn(3L);
+
+        assertThat(postService.getUnreadNotificationCount("Author")).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,161 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostCount;
+import be.pxl.services.domain.PostStatusEvent;
+import be.pxl.services.domain.dto.response.PostStatsResponse;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.PostRepository;
+import be.pxl.services.services.PostStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PostStatisticsTests {
+    private PostRepository postRepository;
+    private PostStatistics postStatistics;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        postStatistics = new PostStatistics(postRepository);
+    }
+
+    private PostCount count(Status status, String author, long count) {
+        return new PostCount() {
+            public Status getStatus() {
+                return status;
+            }
+
+            public String getAuthor() {
+                return author;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private Post post(Status status, String author) {
+        return Post.builder().id(1L).title("Title").content("Content").author(author).status(status).build();
+    }
+
+    @Test
+    void shouldSeedCountsFromDatabase() {
+        when(postRepository.countByStatusAndAuthor()).thenReturn(List.of(
+                count(Status.DRAFT, "Jan", 2),
+                count(Status.PUBLISHED, "Jan", 3),
+                count(Status.PUBLISHED, "Piet", 1)));
+
+        postStatistics.reconcile();
+        PostStatsResponse stats = postStatistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(6);
+        assertThat(stats.getByStatus())
+                .containsEntry(Status.DRAFT, 2L)
+                .containsEntry(Status.PUBLISHED, 4L)
+                .containsEntry(Status.SUBMITTED, 0L);
+        assertThat(stats.getByAuthor()).containsEntry("Jan", 5L).containsEntry("Piet", 1L);
+    }
+
+    @Test
+    void shouldCountCreatedPosts() {
+        postStatistics.recordCreated(post(Status.DRAFT, "Jan"));
+        postStatistics.recordCreated(post(Status.SUBMITTED, "Jan"));
+
+        PostStatsResponse stats = postStatistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry(Status.DRAFT, 1L).containsEntry(Status.SUBMITTED, 1L);
+        assertThat(stats.getByAuthor()).containsEntry("Jan", 2L);
+    }
+
+    @Test
+    void shouldMoveCountsOnStatusAndAuthorChange() {
+        postStatistics.recordCreated(post(Status.SUBMITTED, "Jan"));
+
+        postStatistics.recordChanged(Status.SUBMITTED, "Jan", post(Status.PUBLISHED, "Piet"));
+        PostStatsResponse stats = postStatistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getByStatus()).containsEntry(Status.SUBMITTED, 0L).containsEntry(Status.PUBLISHED, 1L);
+        assertThat(stats.getByAuthor()).containsOnlyKeys("Piet");
+    }
+
+    @Test
+    void shouldReplaceDriftedCountsOnReconcile() {
+        postStatistics.recordCreated(post(Status.DRAFT, "Jan"));
+        postStatistics.recordCreated(post(Status.DRAFT, "Jan"));
+        when(postRepository.countByStatusAndAuthor()).thenReturn(List.of(count(Status.DRAFT, "Jan", 1)));
+
+        postStatistics.reconcile();
+
+        assertThat(postStatistics.snapshot().getByStatus()).containsEntry(Status.DRAFT, 1L);
+        assertThat(postStatistics.snapshot().getByAuthor()).containsEntry("Jan", 1L);
+    }
+
+    @Test
+    void shouldKeepChangesRecordedWhileReconciling() {
+        when(postRepository.countByStatusAndAuthor()).thenAnswer(invocation -> {
+            // Committed after the counts were read, so not part of them
+            postStatistics.recordCreated(post(Status.SUBMITTED, "Piet"));
+            return List.of(count(Status.DRAFT, "Jan", 1));
+        });
+
+        postStatistics.reconcile();
+        PostStatsResponse stats = postStatistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry(Status.DRAFT, 1L).containsEntry(Status.SUBMITTED, 1L);
+        assertThat(stats.getByAuthor()).containsOnly(entry("Jan", 1L), entry("Piet", 1L));
+    }
+
+    @Test
+    void shouldSwapInReplayedCountsWhenReplayEnds() {
+        postStatistics.recordCreated(post(Status.DRAFT, "Jan"));
+
+        postStatistics.beginReplay(true);
+        postStatistics.replay(List.of(
+                PostStatusEvent.builder().id(1L).postId(1L).author("Piet").status(Status.PUBLISHED).build(),
+                PostStatusEvent.builder().id(2L).postId(2L).author("Piet").status(Status.SUBMITTED).build()));
+
+        assertThat(postStatistics.snapshot().getByAuthor()).containsOnlyKeys("Jan");
+        postStatistics.endReplay();
+        assertThat(postStatistics.snapshot().getTotal()).isEqualTo(2);
+        assertThat(postStatistics.snapshot().getByStatus()).containsEntry(Status.DRAFT, 0L).containsEntry(Status.PUBLISHED, 1L);
+        assertThat(postStatistics.snapshot().getByAuthor()).containsOnly(entry("Piet", 2L));
+    }
+
+    @Test
+    void shouldKeepChangesRecordedWhileReplaying() {
+        postStatistics.beginReplay(true);
+        // Committed after the replay read the log, so not part of it
+        postStatistics.recordCreated(post(Status.SUBMITTED, "Jan"));
+        postStatistics.replay(List.of(
+                PostStatusEvent.builder().id(1L).postId(1L).author("Piet").status(Status.PUBLISHED).build()));
+        postStatistics.endReplay();
+
+        PostStatsResponse stats = postStatistics.snapshot();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry(Status.SUBMITTED, 1L).containsEntry(Status.PUBLISHED, 1L);
+        assertThat(stats.getByAuthor()).containsOnly(entry("Jan", 1L), entry("Piet", 1L));
+    }
+
+    @Test
+    void shouldStopTrackingTheChangesOfAFailedReplay() {
+        postStatistics.beginReplay(true);
+        postStatistics.recordCreated(post(Status.DRAFT, "Jan"));
+
+        postStatistics.beginReplay(true);
+        postStatistics.endReplay();
+
+        assertThat(postStatistics.snapshot().getTotal()).isZero();
+    }
+}
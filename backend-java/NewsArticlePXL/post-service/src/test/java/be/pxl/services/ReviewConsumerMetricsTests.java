@@ -0,0 +1,26 @@
+package be.pxl.services;
+
+import be.pxl.services.services.ReviewConsumerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReviewConsumerMetricsTests {
+    @Test
+    void shouldRecordThroughputPerMode() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReviewConsumerMetrics metrics = new ReviewConsumerMetrics(meterRegistry);
+
+        metrics.record(ReviewConsumerMetrics.BATCH, 50, TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.record(ReviewConsumerMetrics.BATCH, 30, TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.record(ReviewConsumerMetrics.SINGLE, 1, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(meterRegistry.get("posts.reviews.processed").tag("mode", "batch").counter().count()).isEqualTo(80);
+        assertThat(meterRegistry.get("posts.reviews.processed").tag("mode", "single").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("posts.reviews.handling").tag("mode", "batch").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("posts.reviews.batch.size").tag("mode", "batch").summary().mean()).isEqualTo(40);
+    }
+}
@@ -0,0 +1,131 @@
+package be.pxl.services;
+
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.dto.response.ReviewMessage;
+import be.pxl.services.enums.Status;
+import be.pxl.services.services.PostService;
+import be.pxl.services.services.ReviewPartitions;
+import be.pxl.services.services.ReviewRetryRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ReviewPartitionsTests {
+    private PostService postService;
+    private ReviewRetryRouter reviewRetryRouter;
+    private ReviewPartitions reviewPartitions;
+
+    @BeforeEach
+    void setUp() {
+        postService = mock(PostService.class);
+        reviewRetryRouter = mock(ReviewRetryRouter.class);
+        MessageConverter messageConverter = new RabbitMQConfig().messageConverter();
+        SimpleRabbitListenerContainerFactory containerFactory = new SimpleRabbitListenerContainerFactory();
+        containerFactory.setConnectionFactory(mock(ConnectionFactory.class));
+        reviewPartitions = new ReviewPartitions(postService, reviewRetryRouter, messageConverter, containerFactory, 3);
+    }
+
+    private static Message json(String messageId, String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(messageId);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    @Test
+    void shouldDeclareOneSingleActiveConsumerQueuePerShard() {
+        List<Declarable> declarables = reviewPartitions.shardQueues();
+
+        assertThat(declarables).filteredOn(Queue.class::isInstance).extracting(d -> ((Queue) d).getName())
+                .containsExactly(ReviewPartitions.shardQueueName(0), ReviewPartitions.shardQueueName(1),
+                        ReviewPartitions.shardQueueName(2));
+        assertThat(declarables).filteredOn(Queue.class::isInstance)
+                .allSatisfy(queue -> assertThat(((Queue) queue).getArguments()).containsEntry("x-single-active-consumer", true));
+        assertThat(declarables).filteredOn(Binding.class::isInstance)
+                .allSatisfy(binding -> {
+                    assertThat(((Binding) binding).getExchange()).isEqualTo(ReviewPartitions.EXCHANGE);
+                    assertThat(((Binding) binding).getRoutingKey()).isEqualTo("1");
+                });
+    }
+
+    @Test
+    void shouldHashOnPartitionKeyAndFallBackToReviewQueue() {
+        CustomExchange exchange = (CustomExchange) ReviewPartitions.exchanges().get(0);
+
+        assertThat(exchange.getType()).isEqualTo("x-consistent-hash");
+        assertThat(exchange.getArguments())
+                .containsEntry("hash-header", ReviewPartitions.PARTITION_KEY_HEADER)
+                .containsEntry("alternate-exchange", ReviewPartitions.UNROUTED_EXCHANGE);
+        assertThat(ReviewPartitions.exchanges()).filteredOn(Binding.class::isInstance)
+                .extracting(binding -> ((Binding) binding).getDestination())
+                .containsExactly(ReviewRetryRouter.QUEUE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldHandShardBatchToPostServiceInOrder() {
+        Message later = json("review-service-2", "{\"id\":7,\"status\":\"ACCEPTED\"}");
+        later.getMessageProperties().setHeader(ReviewPartitions.SEQUENCE_HEADER, 12L);
+
+        reviewPartitions.onShardBatch(List.of(
+                json("review-service-1", "{\"id\":7,\"status\":\"REJECTED\"}"),
+                later));
+
+        ArgumentCaptor<List<org.springframework.messaging.Message<ReviewMessage>>> batch = ArgumentCaptor.forClass(List.class);
+        verify(postService).getReviewBatch(batch.capture());
+        assertThat(batch.getValue()).extracting(org.springframework.messaging.Message::getPayload)
+                .containsExactly(new ReviewMessage(7L, Status.REJECTED), new ReviewMessage(7L, Status.ACCEPTED));
+        assertThat(batch.getValue().get(1).getHeaders().get(AmqpHeaders.MESSAGE_ID)).isEqualTo("review-service-2");
+        assertThat(batch.getValue().get(1).getHeaders().get(ReviewPartitions.SEQUENCE_HEADER)).isEqualTo(12L);
+        verifyNoInteractions(reviewRetryRouter);
+    }
+
+    @Test
+    void shouldDeadLetterOnlyTheUnreadableMessage() {
+        Message unreadable = json("review-service-3", "{not json");
+
+        reviewPartitions.onShardBatch(List.of(json("review-service-1", "{\"id\":7,\"status\":\"ACCEPTED\"}"), unreadable));
+
+        verify(reviewRetryRouter).recover(eq(unreadable), any(MessageConversionException.class));
+        verify(postService).getReviewBatch(argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void shouldNotCallPostServiceWhenNothingIsReadable() {
+        reviewPartitions.onShardBatch(List.of(json("review-service-3", "{not json")));
+
+        verify(postService, never()).getReviewBatch(anyList());
+    }
+
+    @Test
+    void shouldHandAFailedShardBatchToTheRouterWithoutTheUnreadableMessages() {
+        Message readable = json("review-service-1", "{\"id\":7,\"status\":\"ACCEPTED\"}");
+        Message unreadable = json("review-service-3", "{not json");
+        IllegalStateException failure = new IllegalStateException("deadlock");
+        doThrow(failure).when(postService).getReviewBatch(anyList());
+
+        reviewPartitions.onShardBatch(List.of(readable, unreadable));
+
+        verify(reviewRetryRouter).recover(eq(unreadable), any(MessageConversionException.class));
+        verify(reviewRetryRouter).recover(List.of(readable), failure);
+    }
+}
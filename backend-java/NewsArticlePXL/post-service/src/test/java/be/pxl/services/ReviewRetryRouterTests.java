@@ -0,0 +1,178 @@
+package be.pxl.services;
+
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.dto.response.ReviewMessage;
+import be.pxl.services.enums.Status;
+import be.pxl.services.services.PostService;
+import be.pxl.services.services.ReviewPartitions;
+import be.pxl.services.services.ReviewRetryRouter;
+import be.pxl.services.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ReviewRetryRouterTests {
+    private RabbitOperations channelOperations;
+    private PostService postService;
+    private ReviewRetryRouter reviewRetryRouter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        channelOperations = mock(RabbitOperations.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(channelOperations));
+        postService = mock(PostService.class);
+        // 1s, 4s, 16s, then capped at 30s
+        reviewRetryRouter = new ReviewRetryRouter(rabbitTemplate, postService, new RabbitMQConfig().messageConverter(), 5, Duration.ofSeconds(1), 4,
+                Duration.ofSeconds(30), Duration.ofSeconds(1));
+    }
+
+    private static Message message(int attempts) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId("review-service-1");
+        if (attempts > 0) {
+            properties.setHeader(ReviewRetryRouter.ATTEMPTS_HEADER, attempts);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+
+    private static Message review(String messageId, long postId) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(messageId);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(("{\"id\":" + postId + ",\"status\":\"ACCEPTED\"}").getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    @Test
+    void shouldDeclareOneDelayQueuePerBackoffStep() {
+        List<Queue> queues = reviewRetryRouter.retryQueues();
+
+        assertThat(queues).extracting(Queue::getName).containsExactly(
+                "reviewExchange.retry.1000ms", "reviewExchange.retry.4000ms",
+                "reviewExchange.retry.16000ms", "reviewExchange.retry.30000ms");
+        assertThat(queues.get(1).getArguments())
+                .containsEntry("x-message-ttl", 4000)
+                .containsEntry("x-dead-letter-exchange", ReviewPartitions.EXCHANGE)
+                .containsEntry("x-dead-letter-routing-key", "");
+    }
+
+    @Test
+    void shouldDelayFailedMessageByItsAttempt() {
+        Message failed = message(1);
+
+        reviewRetryRouter.recover(failed, new NotFoundException("Post with ID 1 not found"));
+
+        verify(channelOperations).send("", "reviewExchange.retry.4000ms", failed);
+        verify(channelOperations).waitForConfirmsOrDie(anyLong());
+        assertThat(ReviewRetryRouter.attempts(failed.getMessageProperties())).isEqualTo(2);
+        assertThat((String) failed.getMessageProperties().getHeader(ReviewRetryRouter.ERROR_HEADER))
+                .isEqualTo("NotFoundException: Post with ID 1 not found");
+    }
+
+    @Test
+    void shouldDeadLetterAfterMaxAttempts() {
+        Message failed = message(4);
+
+        reviewRetryRouter.recover(failed, new IllegalStateException("still failing"));
+
+        verify(channelOperations).send("", ReviewRetryRouter.DEAD_LETTER_QUEUE, failed);
+        assertThat(failed.getMessageProperties().getHeaders()).containsKey(ReviewRetryRouter.DEAD_LETTERED_AT_HEADER);
+    }
+
+    @Test
+    void shouldDeadLetterUnreadableMessagesImmediately() {
+        Message failed = message(0);
+
+        reviewRetryRouter.recover(List.of(failed), new RuntimeException(new MessageConversionException("bad body")));
+
+        verify(channelOperations).send("", ReviewRetryRouter.DEAD_LETTER_QUEUE, failed);
+        verify(channelOperations, never()).send(eq(""), startsWith("reviewExchange.retry."), any(Message.class));
+    }
+
+    @Test
+    void shouldRetryEachMessageOfAFailedBatchAloneAndRouteOnlyTheOnesThatFailAgain() {
+        Message good = review("review-service-1", 7);
+        Message bad = review("review-service-2", 8);
+        doThrow(new IllegalStateException("post 8 is locked")).when(postService)
+                .getReviewBatch(argThat(batch -> batch.size() == 1 && batch.get(0).getPayload().getId() == 8L));
+
+        reviewRetryRouter.recover(List.of(good, bad), new IllegalStateException("post 8 is locked"));
+
+        verify(postService, times(2)).getReviewBatch(argThat(batch -> batch.size() == 1));
+        verify(channelOperations).send("", "reviewExchange.retry.1000ms", bad);
+        verify(channelOperations, never()).send(anyString(), anyString(), eq(good));
+        assertThat(ReviewRetryRouter.attempts(good.getMessageProperties())).isZero();
+    }
+
+    @Test
+    void shouldDeadLetterOnlyTheUnreadableMessageOfAFailedBatch() {
+        Message good = review("review-service-1", 7);
+        Message unreadable = new Message("{not json".getBytes(StandardCharsets.UTF_8),
+                review("review-service-2", 8).getMessageProperties());
+
+        reviewRetryRouter.recover(List.of(good, unreadable), new MessageConversionException("bad body"));
+
+        verify(postService).getReviewBatch(argThat(batch -> batch.size() == 1
+                && batch.get(0).getPayload().equals(new ReviewMessage(7L, Status.ACCEPTED))));
+        verify(channelOperations).send("", ReviewRetryRouter.DEAD_LETTER_QUEUE, unreadable);
+        verify(channelOperations, never()).send(anyString(), anyString(), eq(good));
+    }
+
+    @Test
+    void shouldNotRetryAMessageThatAlreadyFailedAlone() {
+        Message failed = review("review-service-1", 7);
+
+        reviewRetryRouter.recover(List.of(failed), new IllegalStateException("still failing"));
+
+        verifyNoInteractions(postService);
+        verify(channelOperations).send("", "reviewExchange.retry.1000ms", failed);
+    }
+
+    @Test
+    void shouldDeadLetterAReviewForAnUnknownPostOnceItsRetriesRunOut() {
+        Message good = review("review-service-1", 7);
+        Message unknown = review("review-service-2", 99);
+        doThrow(new NotFoundException("Post with ID 99 not found")).when(postService)
+                .getReviewBatch(argThat(batch -> batch.get(0).getPayload().getId() == 99L));
+
+        reviewRetryRouter.recover(List.of(good, unknown), new NotFoundException("Post with ID 99 not found"));
+        for (int attempt = 2; attempt <= 5; attempt++) {
+            reviewRetryRouter.recover(unknown, new NotFoundException("Post with ID 99 not found"));
+        }
+
+        verify(channelOperations).send("", "reviewExchange.retry.1000ms", unknown);
+        verify(channelOperations).send("", ReviewRetryRouter.DEAD_LETTER_QUEUE, unknown);
+        verify(channelOperations, never()).send(anyString(), anyString(), eq(good));
+        assertThat((String) unknown.getMessageProperties().getHeader(ReviewRetryRouter.ERROR_HEADER))
+                .isEqualTo("NotFoundException: Post with ID 99 not found");
+    }
+
+    @Test
+    void shouldGiveARetriedMessageWithoutPartitionKeyThePostIdSoItReturnsToItsShard() {
+        Message failed = review("review-service-1", 7);
+        Message keyed = review("review-service-2", 8);
+        keyed.getMessageProperties().setHeader(ReviewPartitions.PARTITION_KEY_HEADER, "8");
+
+        reviewRetryRouter.recover(failed, new IllegalStateException("still failing"));
+        reviewRetryRouter.recover(keyed, new IllegalStateException("still failing"));
+
+        assertThat((String) failed.getMessageProperties().getHeader(ReviewPartitions.PARTITION_KEY_HEADER)).isEqualTo("7");
+        assertThat((String) keyed.getMessageProperties().getHeader(ReviewPartitions.PARTITION_KEY_HEADER)).isEqualTo("8");
+    }
+}
@@ -0,0 +1,107 @@
+package be.pxl.services;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchemaIndexTests {
+    private static final String URL = "jdbc:h2:mem:postservice;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    private String plan(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            resultSet.next();
+            return resultSet.getString(1).toLowerCase();
+        }
+    }
+
+    @Test
+    void findPageByStatusShouldUseStatusCreationDateIndex() throws SQLException {
+        assertThat(plan("SELECT id FROM post WHERE status = 'SUBMITTED' " +
+                "AND (creation_date < '2024-01-01 00:00:00' OR (creation_date = '2024-01-01 00:00:00' AND id < 10)) " +
+                "ORDER BY creation_date DESC, id DESC LIMIT 51"))
+                .contains("idx_post_status_creation_date");
+    }
+
+    @Test
+    void findFilteredPostsPageShouldUseCreationDateIndex() throws SQLException {
+        assertThat(plan("SELECT id FROM post WHERE creation_date >= '2024-01-01 00:00:00' " +
+                "AND creation_date <= '2024-12-31 23:59:59' ORDER BY creation_date DESC, id DESC LIMIT 51"))
+                .contains("idx_post_creation_date");
+    }
+
+    @Test
+    void findFilteredPostsPageWithStatusShouldUseStatusCreationDateIndex() throws SQLException {
+        assertThat(plan("SELECT id FROM post WHERE creation_date >= '2024-01-01 00:00:00' AND status = 'PUBLISHED' " +
+                "ORDER BY creation_date DESC, id DESC LIMIT 51"))
+                .contains("idx_post_status_creation_date");
+    }
+
+    @Test
+    void findSummariesByIdInShouldUsePrimaryKey() throws SQLException {
+        assertThat(plan("SELECT id, title, excerpt FROM post WHERE id IN (1, 2, 3)"))
+                .contains("primary_key");
+    }
+
+    @Test
+    void findInboxPageShouldUsePostAuthorCreationDateIndex() throws SQLException {
+        assertThat(plan("SELECT id FROM notification WHERE post_author = 'Author' " +
+                "AND (creation_date < '2024-01-01 00:00:00' OR (creation_date = '2024-01-01 00:00:00' AND id < 10)) " +
+                "ORDER BY creation_date DESC, id DESC LIMIT 51"))
+                .contains("idx_notification_post_author_creation_date");
+    }
+
+    @Test
+    void postSequenceShouldStartPastExistingIds() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT next_val FROM post_seq")) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getLong(1)).isGreaterThanOrEqualTo(50);
+        }
+    }
+
+    @Test
+    void findUnsequencedShouldUseLogOffsetIndex() throws SQLException {
+        assertThat(plan("SELECT id FROM post_status_event WHERE log_offset IS NULL ORDER BY post_version, id LIMIT 500"))
+                .contains("idx_post_status_event_log_offset");
+    }
+
+    @Test
+    void readingTheLogShouldUseLogOffsetIndex() throws SQLException {
+        assertThat(plan("SELECT id FROM post_status_event WHERE log_offset BETWEEN 1 AND 1000 ORDER BY log_offset"))
+                .contains("idx_post_status_event_log_offset");
+    }
+
+    @Test
+    void unreadNotificationCountShouldUsePostAuthorReadIndex() throws SQLException {
+        assertThat(plan("SELECT COUNT(*) FROM notification WHERE post_author = 'Author' AND is_read = FALSE"))
+                .contains("idx_notification_post_author_read");
+    }
+
+    @Test
+    void purgingProcessedMessagesShouldUseProcessedAtIndex() throws SQLException {
+        assertThat(plan("SELECT message_id FROM processed_message WHERE processed_at < '2024-01-01 00:00:00'"))
+                .contains("idx_processed_message_processed_at");
+    }
+}
@@ -0,0 +1,154 @@
+package be.pxl.services.client;
+
+import be.pxl.services.domain.dto.Response.PostResponse;
+import be.pxl.services.exceptions.PostServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link PostClient} with its own timeouts per method, a bulkhead and a {@link CircuitBreaker}, so a slow post-service
+ * costs review-service at most bulkhead.max-concurrent-calls request threads, each for at most its method's timeout.
+ * Calls that would wait longer for the bulkhead, or arrive while the breaker is open, fail right away with
+ * {@link PostServiceUnavailableException} (503) instead of piling up on Tomcat's threads.
+ * Only timeouts, connection errors and 5xx count against the breaker; a 4xx means post-service answered.
+ * Every call is timed in reviews.post-client.latency (with a percentile histogram), tagged with method and outcome.
+ */
+@Component
+public class GuardedPostClient {
+    private static final Logger logger = LoggerFactory.getLogger(GuardedPostClient.class);
+    private static final String LATENCY = "reviews.post-client.latency";
+    private static final String REJECTED = "reviews.post-client.rejected";
+
+    private final PostClient postClient;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Duration maxWait;
+    private final Request.Options getPostOptions;
+    private final Request.Options getPostsOptions;
+
+    public GuardedPostClient(PostClient postClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${reviews.post-client.connect-timeout:PT0.5S}") Duration connectTimeout,
+                             @Value("${reviews.post-client.get-post.timeout:PT1S}") Duration getPostTimeout,
+                             @Value("${reviews.post-client.get-posts.timeout:PT3S}") Duration getPostsTimeout,
+                             @Value("${reviews.post-client.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+                             @Value("${reviews.post-client.bulkhead.max-wait:PT0.1S}") Duration maxWait,
+                             @Value("${reviews.post-client.circuit-breaker.window-size:20}") int windowSize,
+                             @Value("${reviews.post-client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                             @Value("${reviews.post-client.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                             @Value("${reviews.post-client.circuit-breaker.open-duration:PT10S}") Duration openDuration) {
+        this.postClient = postClient;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration, Clock.systemUTC());
+        this.bulkhead = new Semaphore(Math.max(1, maxConcurrentCalls));
+        this.maxWait = maxWait;
+        this.getPostOptions = options(connectTimeout, getPostTimeout);
+        this.getPostsOptions = options(connectTimeout, getPostsTimeout);
+        Gauge.builder("reviews.post-client.circuit.open", circuitBreaker,
+                        breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(meterRegistry);
+        Gauge.builder("reviews.post-client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    public PostResponse getPostById(Long postId, String role) {
+        return call("getPostById", () -> postClient.getPostById(postId, role, getPostOptions));
+    }
+
+    public List<PostResponse> getPostsByIds(Collection<Long> ids, String role) {
+        return call("getPostsByIds", () -> postClient.getPostsByIds(ids, role, getPostsOptions));
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T call(String method, Supplier<T> request) {
+        if (!acquireBulkhead()) {
+            reject(method, "bulkhead");
+            throw new PostServiceUnavailableException("Too many concurrent calls to post-service");
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                reject(method, "circuit_open");
+                throw new PostServiceUnavailableException("post-service is unavailable, circuit open");
+            }
+            long start = System.nanoTime();
+            String outcome = "success";
+            try {
+                T result = request.get();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (FeignException.FeignClientException e) {
+                outcome = "client_error";
+                circuitBreaker.onSuccess();
+                throw e;
+            } catch (RuntimeException e) {
+                outcome = isTimeout(e) ? "timeout" : "error";
+                circuitBreaker.onFailure();
+                logger.warn("Call {} to post-service failed: {}", method, e.getMessage());
+                throw new PostServiceUnavailableException("post-service call " + method + " failed", e);
+            } finally {
+                Timer.builder(LATENCY)
+                        .tag("method", method)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(String method, String reason) {
+        Counter.builder(REJECTED)
+                .tag("method", method)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // Socket, connect and pool timeouts of the pooled transport are all InterruptedIOExceptions
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedIOException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Request.Options options(Duration connectTimeout, Duration readTimeout) {
+        return new Request.Options(connectTimeout.toMillis(), TimeUnit.MILLISECONDS,
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS, true);
+    }
+}
@@ -0,0 +1,65 @@
+package be.pxl.services.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Feign transport on the JDK HttpClient speaking HTTP/2, used with http-client.http2=true. All calls to a host are
+ * multiplexed over one connection, so there is no pool to size; plain-text hosts are upgraded with h2c and fall back
+ * to HTTP/1.1 when they refuse.
+ */
+public class Http2Client implements Client {
+    // The JDK client sets these itself and rejects them on a request
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+
+    public Http2Client(Duration connectTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        HttpRequest.Builder httpRequest = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(Duration.ofMillis(options.readTimeoutMillis()))
+                .method(request.httpMethod().name(), request.body() == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+                header.getValue().forEach(value -> httpRequest.header(header.getKey(), value));
+            }
+        }
+
+        HttpResponse<byte[]> httpResponse;
+        try {
+            httpResponse = httpClient.send(httpRequest.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted calling " + request.url());
+        }
+        return Response.builder()
+                .status(httpResponse.statusCode())
+                .headers(new LinkedHashMap<>(httpResponse.headers().map()))
+                .request(request)
+                .body(httpResponse.body())
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package be.pxl.services.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Feign transport on a pooled Apache HttpClient, configured in {@link be.pxl.services.config.FeignTransportConfig}.
+ * Connections are kept alive and reused across calls instead of relying on HttpURLConnection's small keep-alive cache.
+ * Response bodies are read fully before returning, so the connection always goes back to the pool.
+ * The connect and read timeouts still come from each call's {@link Request.Options}.
+ */
+public class PooledHttpClient implements Client {
+    private final CloseableHttpClient httpClient;
+    private final Timeout connectionRequestTimeout;
+
+    public PooledHttpClient(CloseableHttpClient httpClient, Duration connectionRequestTimeout) {
+        this.httpClient = httpClient;
+        this.connectionRequestTimeout = Timeout.ofMilliseconds(connectionRequestTimeout.toMillis());
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        HttpUriRequestBase httpRequest = new HttpUriRequestBase(request.httpMethod().name(), URI.create(request.url()));
+        httpRequest.setConfig(requestConfig(options));
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            // Set by HttpClient itself from the entity
+            if (header.getKey().equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)
+                    || header.getKey().equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)) {
+                continue;
+            }
+            header.getValue().forEach(value -> httpRequest.addHeader(header.getKey(), value));
+        }
+        if (request.body() != null) {
+            httpRequest.setEntity(new ByteArrayEntity(request.body(), null));
+        }
+        return httpClient.execute(httpRequest, httpResponse -> toResponse(httpResponse, request));
+    }
+
+    @SuppressWarnings("deprecation")
+    private RequestConfig requestConfig(Request.Options options) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                // Per call, so the per-method timeouts of GuardedPostClient keep working
+                .setConnectTimeout(Timeout.ofMilliseconds(options.connectTimeoutMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(options.readTimeoutMillis()))
+                .setRedirectsEnabled(options.isFollowRedirects())
+                .build();
+    }
+
+    private static Response toResponse(ClassicHttpResponse httpResponse, Request request) throws IOException {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        for (Header header : httpResponse.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        HttpEntity entity = httpResponse.getEntity();
+        return Response.builder()
+                .status(httpResponse.getCode())
+                .reason(httpResponse.getReasonPhrase())
+                .headers(headers)
+                .request(request)
+                .body(entity == null ? null : EntityUtils.toByteArray(entity))
+                .build();
+    }
+}
@@ -1,15 +1,23 @@
 package be.pxl.services.client;
 
-import be.pxl.services.domain.dto.Request.NotificationRequest;
 import be.pxl.services.domain.dto.Response.PostResponse;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Call it through {@link GuardedPostClient}, which passes each method's timeouts as the {@link Request.Options}.
+ */
 @FeignClient(name = "post-service")
 public interface PostClient {
-    @PostMapping("/posts/notification")
-    void sendNotification(@RequestBody NotificationRequest notificationRequest);
-
     @GetMapping("/posts/{postId}")
-    PostResponse getPostById(@PathVariable("postId") Long postId, @RequestHeader("Role") String role);
-}
\ No newline at end of file
+    PostResponse getPostById(@PathVariable("postId") Long postId, @RequestHeader("Role") String role, Request.Options options);
+
+    // Leaves out the ids post-service does not know
+    @GetMapping("/posts/batch")
+    List<PostResponse> getPostsByIds(@RequestParam("ids") Collection<Long> ids, @RequestHeader("Role") String role,
+                                     Request.Options options);
+}
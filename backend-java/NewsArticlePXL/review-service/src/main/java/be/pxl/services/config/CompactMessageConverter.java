@@ -0,0 +1,241 @@
+package be.pxl.services.config;
+
+import be.pxl.services.domain.dto.Request.NotificationRequest;
+import be.pxl.services.domain.dto.Response.PostStatusMessage;
+import be.pxl.services.domain.dto.Response.ReviewMessage;
+import be.pxl.services.enums.Status;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Binary encoding of the messages exchanged between post-service and review-service, sent as {@link #CONTENT_TYPE}.
+ * The first byte names the message type, so no type header is needed and each service decodes into its own classes;
+ * the second byte flags which fields are present. Ids are zigzag varints, statuses one byte and strings
+ * length-prefixed UTF-8, timestamps UTC epoch seconds plus nanos. Listeners read this and JSON side by side (see {@link RabbitMQConfig#messageConverter()}).
+ */
+public class CompactMessageConverter extends AbstractMessageConverter {
+    public static final String CONTENT_TYPE = "application/x-newsarticle-compact";
+
+    // 1 was the bare post id postQueue carried before it moved to PostStatusMessage; never reuse it
+    private static final byte REVIEW = 2;
+    private static final byte NOTIFICATION = 3;
+    private static final byte POST_STATUS = 4;
+
+    // Wire codes of the statuses, by position: only ever append
+    private static final Status[] STATUSES = {
+            Status.DRAFT, Status.SUBMITTED, Status.ACCEPTED, Status.REJECTED, Status.PUBLISHED
+    };
+
+    public static boolean supports(Object payload) {
+        return payload instanceof ReviewMessage || payload instanceof NotificationRequest
+                || payload instanceof PostStatusMessage;
+    }
+
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties) {
+        byte[] body = encode(object);
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        return decode(message.getBody());
+    }
+
+    public static byte[] encode(Object payload) {
+        Writer writer = new Writer();
+        if (payload instanceof ReviewMessage review) {
+            writer.writeByte(REVIEW);
+            writer.writeByte(presence(review.getId(), review.getStatus()));
+            writer.writeLong(review.getId());
+            writer.writeStatus(review.getStatus());
+        } else if (payload instanceof NotificationRequest notification) {
+            writer.writeByte(NOTIFICATION);
+            writer.writeByte(presence(notification.getMessage(), notification.getAuthor(), notification.getPostAuthor()));
+            writer.writeString(notification.getMessage());
+            writer.writeString(notification.getAuthor());
+            writer.writeString(notification.getPostAuthor());
+        } else if (payload instanceof PostStatusMessage postStatus) {
+            writer.writeByte(POST_STATUS);
+            writer.writeByte(presence(postStatus.getId(), postStatus.getAuthor(), postStatus.getStatus(), postStatus.getChangedAt(),
+                    postStatus.getVersion()));
+            writer.writeLong(postStatus.getId());
+            writer.writeString(postStatus.getAuthor());
+            writer.writeStatus(postStatus.getStatus());
+            writer.writeTime(postStatus.getChangedAt());
+            writer.writeLong(postStatus.getVersion());
+        } else {
+            throw new MessageConversionException("No compact encoding for " +
+                    (payload == null ? "null" : payload.getClass().getName()));
+        }
+        return writer.toByteArray();
+    }
+
+    public static Object decode(byte[] body) {
+        try {
+            Reader reader = new Reader(body);
+            byte type = reader.readByte();
+            int presence = reader.readByte();
+            return switch (type) {
+                case REVIEW -> new ReviewMessage(reader.readLong(presence, 0), reader.readStatus(presence, 1));
+                case NOTIFICATION -> new NotificationRequest(
+                        reader.readString(presence, 0), reader.readString(presence, 1), reader.readString(presence, 2));
+                case POST_STATUS -> new PostStatusMessage(reader.readLong(presence, 0), reader.readString(presence, 1),
+                        reader.readStatus(presence, 2), reader.readTime(presence, 3), reader.readLong(presence, 4));
+                default -> throw new MessageConversionException("Unknown compact message type " + type);
+            };
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new MessageConversionException("Truncated compact message", e);
+        }
+    }
+
+    private static int presence(Object... fields) {
+        int presence = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                presence |= 1 << i;
+            }
+        }
+        return presence;
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[32];
+        private int position;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(Long value) {
+            if (value != null) {
+                writeVarint((value << 1) ^ (value >> 63));
+            }
+        }
+
+        void writeStatus(Status status) {
+            if (status != null) {
+                int code = Arrays.asList(STATUSES).indexOf(status);
+                if (code < 0) {
+                    throw new MessageConversionException("No wire code for status " + status);
+                }
+                writeByte(code);
+            }
+        }
+
+        void writeString(String value) {
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(bytes.length);
+                ensureCapacity(bytes.length);
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                position += bytes.length;
+            }
+        }
+
+        void writeTime(LocalDateTime value) {
+            if (value != null) {
+                writeLong(value.toEpochSecond(ZoneOffset.UTC));
+                writeVarint(value.getNano());
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new MessageConversionException("Malformed varint in compact message");
+        }
+
+        Long readLong(int presence, int field) {
+            if (!isPresent(presence, field)) {
+                return null;
+            }
+            long zigzag = readVarint();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        Status readStatus(int presence, int field) {
+            if (!isPresent(presence, field)) {
+                return null;
+            }
+            int code = readByte();
+            if (code < 0 || code >= STATUSES.length) {
+                throw new MessageConversionException("Unknown status code " + code);
+            }
+            return STATUSES[code];
+        }
+
+        LocalDateTime readTime(int presence, int field) {
+            if (!isPresent(presence, field)) {
+                return null;
+            }
+            long epochSecond = readLong(presence, field);
+            return LocalDateTime.ofEpochSecond(epochSecond, Math.toIntExact(readVarint()), ZoneOffset.UTC);
+        }
+
+        String readString(int presence, int field) {
+            if (!isPresent(presence, field)) {
+                return null;
+            }
+            int length = Math.toIntExact(readVarint());
+            if (length > buffer.length - position) {
+                throw new MessageConversionException("Truncated compact message");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private static boolean isPresent(int presence, int field) {
+            return (presence & (1 << field)) != 0;
+        }
+    }
+}
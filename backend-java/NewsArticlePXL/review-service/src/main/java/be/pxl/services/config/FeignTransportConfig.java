@@ -0,0 +1,126 @@
+package be.pxl.services.config;
+
+import be.pxl.services.client.Http2Client;
+import be.pxl.services.client.PooledHttpClient;
+import feign.Client;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Replaces Feign's default transport, which opens HttpURLConnections and keeps only a handful of them alive per host,
+ * with {@link PooledHttpClient}: a connection pool limited per route (host:port of a post-service instance) and
+ * in total, whose idle connections are evicted before the server drops them. http-client.http2=true switches to
+ * {@link Http2Client} instead. Either way the transport sits behind the load balancer, so service names still
+ * resolve through Eureka. Pool usage is exported as reviews.http-client.pool.{leased,available,pending,max}.
+ */
+@Configuration
+public class FeignTransportConfig {
+    private static final String POOL_METRICS = "reviews.http-client.pool.";
+
+    @Value("${http-client.connect-timeout:PT0.5S}")
+    private Duration connectTimeout = Duration.ofMillis(500);
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "http-client.http2", havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager feignConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${http-client.max-connections:100}") int maxConnections,
+            @Value("${http-client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${http-client.route-limits:}") String routeLimits,
+            @Value("${http-client.time-to-live:PT5M}") Duration timeToLive,
+            @Value("${http-client.validate-after-inactivity:PT2S}") Duration validateAfterInactivity) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity.toMillis()))
+                        .build())
+                .build();
+        applyRouteLimits(connectionManager, routeLimits);
+
+        registerPoolGauge(meterRegistry, connectionManager, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, connectionManager, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, connectionManager, "pending", PoolStats::getPending);
+        registerPoolGauge(meterRegistry, connectionManager, "max", PoolStats::getMax);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "http-client.http2", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient feignHttpClient(PoolingHttpClientConnectionManager feignConnectionManager,
+                                               @Value("${http-client.idle-timeout:PT15S}") Duration idleTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(feignConnectionManager)
+                // Shorter than Tomcat's keep-alive timeout, so we close idle connections before the server does
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+                .evictExpiredConnections()
+                // Feign and GuardedPostClient decide about retries, not the transport
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .disableContentCompression()
+                .build();
+    }
+
+    @Bean
+    public Client feignClient(ObjectProvider<CloseableHttpClient> feignHttpClient,
+                              LoadBalancerClient loadBalancerClient,
+                              LoadBalancerClientFactory loadBalancerClientFactory,
+                              ObjectProvider<LoadBalancerFeignRequestTransformer> transformers,
+                              @Value("${http-client.http2:false}") boolean http2,
+                              @Value("${http-client.connection-request-timeout:PT0.5S}") Duration connectionRequestTimeout) {
+        Client transport = http2
+                ? new Http2Client(connectTimeout)
+                : new PooledHttpClient(feignHttpClient.getObject(), connectionRequestTimeout);
+        return new FeignBlockingLoadBalancerClient(transport, loadBalancerClient, loadBalancerClientFactory,
+                transformers.orderedStream().toList());
+    }
+
+    // "host:port=limit" pairs, comma separated, for routes that need more or fewer connections than the default
+    private static void applyRouteLimits(PoolingHttpClientConnectionManager connectionManager, String routeLimits) {
+        for (String routeLimit : routeLimits.split(",")) {
+            if (routeLimit.isBlank()) {
+                continue;
+            }
+            String[] parts = routeLimit.trim().split("=");
+            int separator = parts[0].lastIndexOf(':');
+            if (parts.length != 2 || separator < 1) {
+                throw new IllegalArgumentException("Expected host:port=limit in http-client.route-limits, got " + routeLimit);
+            }
+            HttpHost host = new HttpHost(parts[0].substring(0, separator).trim(),
+                    Integer.parseInt(parts[0].substring(separator + 1).trim()));
+            connectionManager.setMaxPerRoute(new HttpRoute(host), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    private static void registerPoolGauge(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager,
+                                          String name, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(POOL_METRICS + name, connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+                .register(meterRegistry);
+    }
+}
@@ -1,25 +1,65 @@
 package be.pxl.services.config;
 
+import be.pxl.services.services.OutboxRelay;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
 
 @Configuration
 public class RabbitMQConfig {
+    public static final String REVIEW_EXCHANGE = "reviewExchange";
+    public static final String REVIEW_UNROUTED_EXCHANGE = "reviewExchange.unrouted";
+
     @Bean
     public Queue postQueue() {
-        return new Queue("postQueue", false);
+        return new Queue("postQueue", true);
     }
 
     @Bean
     public Queue reviewQueue() {
-        return new Queue("reviewQueue", false);
+        return new Queue("reviewQueue", true);
+    }
+
+    /**
+     * Consistent-hash exchange over post-service's review shard queues, hashing the partition key header (the post id).
+     * Declared identically in post-service; until that binds its shards, the alternate exchange routes to reviewQueue.
+     */
+    @Bean
+    public Declarables reviewExchanges() {
+        CustomExchange exchange = new CustomExchange(REVIEW_EXCHANGE, "x-consistent-hash", true, false,
+                Map.of("hash-header", OutboxRelay.PARTITION_KEY_HEADER, "alternate-exchange", REVIEW_UNROUTED_EXCHANGE));
+        FanoutExchange unrouted = new FanoutExchange(REVIEW_UNROUTED_EXCHANGE);
+        return new Declarables(exchange, unrouted,
+                new Binding("reviewQueue", Binding.DestinationType.QUEUE, REVIEW_UNROUTED_EXCHANGE, "", null));
+    }
+
+    @Bean
+    public Queue notificationQueue() {
+        return new Queue("notificationQueue", true);
     }
 
+    /**
+     * Listeners read JSON and the compact codec side by side, picked by the content type of each message,
+     * so producers can switch with messaging.codec in any order. Direct sends stay JSON.
+     * Every published message gets a message id, which listeners use to drop redeliveries.
+     */
     @Bean
-    public Jackson2JsonMessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter messageConverter() {
+        Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+        json.setCreateMessageIds(true);
+        CompactMessageConverter compact = new CompactMessageConverter();
+        compact.setCreateMessageIds(true);
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(json);
+        converter.addDelegate(CompactMessageConverter.CONTENT_TYPE, compact);
+        return converter;
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package be.pxl.services.controller;
 
 import be.pxl.services.domain.dto.Request.ReviewRequest;
+import be.pxl.services.domain.dto.Response.CursorPage;
+import be.pxl.services.domain.dto.Response.PendingReviewResponse;
 import be.pxl.services.domain.dto.Response.ReviewResponse;
 import be.pxl.services.services.IReviewService;
 import lombok.RequiredArgsConstructor;
@@ -8,10 +10,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/reviews")
 @RequiredArgsConstructor
 public class ReviewController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final IReviewService reviewService;
 
     @PostMapping
@@ -23,6 +28,29 @@ public class ReviewController {
         return ResponseEntity.ok(reviewResponse);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ReviewResponse>> makeReviews(@RequestBody List<ReviewRequest> reviewRequests, @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(reviewService.makeReviewsForPosts(reviewRequests, role));
+    }
+
+    @GetMapping("/pending")
+    public ResponseEntity<List<PendingReviewResponse>> getPendingReviews(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size,
+                                                                         @RequestHeader("Role") String role) {
+        if (!role.equals("redacteur")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        CursorPage<PendingReviewResponse> page = reviewService.getPendingReviews(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
     @GetMapping("/{postId}")
     public ResponseEntity<ReviewResponse> getReview(@PathVariable Long postId, @RequestHeader("Role") String role) {
         if (!role.equals("redacteur")) {
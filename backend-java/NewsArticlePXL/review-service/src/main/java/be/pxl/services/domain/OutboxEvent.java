@@ -0,0 +1,40 @@
+package be.pxl.services.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Message waiting to be published to RabbitMQ, written in the same transaction as the change it announces.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    // Null for the default exchange, where the destination is the queue name
+    private String exchange;
+    private String destination;
+    private String partitionKey;
+    private String payloadType;
+    private String contentType;
+
+    @Lob
+    private byte[] payload;
+
+    private LocalDateTime createdAt;
+
+    // Assigned by the database on insert (see OutboxEventRepository.findNextBatch)
+    @Column(insertable = false, updatable = false)
+    private Long relayOrder;
+}
@@ -0,0 +1,60 @@
+package be.pxl.services.domain;
+
+import be.pxl.services.enums.Status;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * review-service's own copy of a post's author and status, kept up to date from postQueue by
+ * {@link be.pxl.services.services.PostStateProjection}. Posts in SUBMITTED are the pending reviews.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostState implements Persistable<Long> {
+    @Id
+    private Long postId;
+
+    private String author;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    // When the post last entered SUBMITTED; pending reviews are served oldest first on this
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime changedAt;
+
+    // Post version of the last applied event, so a late redelivery or an older event cannot undo a newer change
+    private Long version;
+
+    // The id is assigned, so without this save would SELECT the row first to choose between persist and merge
+    @Transient
+    private boolean persisted;
+
+    public PostState(Long postId) {
+        this.postId = postId;
+    }
+
+    @Override
+    public Long getId() {
+        return postId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -26,10 +26,17 @@ public class Review {
 
     private LocalDateTime creationDate;
 
+    private LocalDateTime updatedAt;
+
     public Review() {
     }
 
     public Review(Long id, Long postId, String reason, String postAuthor, String author, Status status, LocalDateTime creationDate) {
+        this(id, postId, reason, postAuthor, author, status, creationDate, creationDate);
+    }
+
+    public Review(Long id, Long postId, String reason, String postAuthor, String author, Status status,
+                  LocalDateTime creationDate, LocalDateTime updatedAt) {
         this.id = id;
         this.postId = postId;
         this.reason = reason;
@@ -37,5 +44,6 @@ public class Review {
         this.author = author;
         this.status = status;
         this.creationDate = creationDate;
+        this.updatedAt = updatedAt;
     }
 }
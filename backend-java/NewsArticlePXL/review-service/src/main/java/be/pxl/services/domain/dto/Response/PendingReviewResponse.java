@@ -0,0 +1,16 @@
+package be.pxl.services.domain.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingReviewResponse {
+    private Long postId;
+    private String author;
+    private LocalDateTime submittedAt;
+}
@@ -0,0 +1,24 @@
+package be.pxl.services.domain.dto.Response;
+
+import be.pxl.services.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by post-service on postQueue when a post is created and whenever its status or author changes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStatusMessage {
+    private Long id;
+    private String author;
+    private Status status;
+    private LocalDateTime changedAt;
+    // Version of the post after the change. It orders the changes of one post, which changedAt, taken from the
+    // clock of whichever replica made the change, does not
+    private Long version;
+}
@@ -0,0 +1,15 @@
+package be.pxl.services.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PostServiceUnavailableException extends RuntimeException {
+    public PostServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public PostServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,40 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.PostState;
+import be.pxl.services.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostStateRepository extends JpaRepository<PostState, Long> {
+    // Keyset page on idx_post_state_status_submitted_at, oldest first
+    @Query("SELECT p FROM PostState p " +
+            "WHERE p.status = :status " +
+            "AND (:cursorDate IS NULL OR p.submittedAt > :cursorDate " +
+            "OR (p.submittedAt = :cursorDate AND p.postId > :cursorId)) " +
+            "ORDER BY p.submittedAt ASC, p.postId ASC")
+    List<PostState> findPageByStatus(
+            @Param("status") Status status,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE PostState p SET p.status = :status WHERE p.postId IN :postIds AND p.status = :current")
+    int updateStatus(@Param("postIds") Collection<Long> postIds,
+                     @Param("current") Status current,
+                     @Param("status") Status status);
+
+    // Only posts still waiting for a review: a newer status from post-service must not be overwritten
+    default int markReviewed(Collection<Long> postIds, Status status) {
+        return updateStatus(postIds, Status.SUBMITTED, status);
+    }
+}
@@ -2,11 +2,36 @@ package be.pxl.services.repository;
 
 import be.pxl.services.domain.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Long> {
+public interface ReviewRepository extends JpaRepository<Review, Long>, ReviewUpserts {
+    // Insert or, when uk_review_post_id already has the post, update in one statement, so concurrent reviews of
+    // one post cannot both insert. creation_date is only written by the insert. The row alias replaces VALUES(col),
+    // which MySQL deprecated in 8.0.20; H2 does not parse it, so ReviewUpsertMySqlTests runs this against MySQL.
+    String UPSERT = "INSERT INTO review (post_id, reason, post_author, author, status, creation_date, updated_at) " +
+            "VALUES (:postId, :reason, :postAuthor, :author, :status, :now, :now) AS new " +
+            "ON DUPLICATE KEY UPDATE reason = new.reason, post_author = new.post_author, " +
+            "author = new.author, status = new.status, updated_at = new.updated_at";
+
     Optional<Review> findByPostId(Long postId);
+    @Modifying
+    @Query(value = UPSERT, nativeQuery = true)
+    int upsert(@Param("postId") Long postId,
+               @Param("reason") String reason,
+               @Param("postAuthor") String postAuthor,
+               @Param("author") String author,
+               @Param("status") String status,
+               @Param("now") LocalDateTime now);
+
+    default void upsert(Review review) {
+        upsert(review.getPostId(), review.getReason(), review.getPostAuthor(), review.getAuthor(),
+                review.getStatus() == null ? null : review.getStatus().name(), review.getUpdatedAt());
+    }
 }
\ No newline at end of file
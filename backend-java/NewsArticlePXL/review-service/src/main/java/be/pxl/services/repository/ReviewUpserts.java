@@ -0,0 +1,13 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.Review;
+
+import java.util.List;
+
+public interface ReviewUpserts {
+    /**
+     * {@link ReviewRepository#UPSERT} for many reviews as one JDBC batch, which the driver rewrites into a single
+     * multi-row statement (rewriteBatchedStatements) instead of a round trip per review.
+     */
+    void upsertAll(List<Review> reviews);
+}
@@ -0,0 +1,35 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.Review;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+
+// Picked up by Spring Data as the implementation of the ReviewUpserts fragment of ReviewRepository
+@RequiredArgsConstructor
+public class ReviewUpsertsImpl implements ReviewUpserts {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(List<Review> reviews) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ReviewRepository.UPSERT, reviews.stream()
+                .map(ReviewUpsertsImpl::parameters)
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    private static SqlParameterSource parameters(Review review) {
+        return new MapSqlParameterSource()
+                .addValue("postId", review.getPostId())
+                .addValue("reason", review.getReason())
+                .addValue("postAuthor", review.getPostAuthor())
+                .addValue("author", review.getAuthor())
+                .addValue("status", review.getStatus() == null ? null : review.getStatus().name())
+                .addValue("now", review.getUpdatedAt());
+    }
+}
@@ -1,10 +1,16 @@
 package be.pxl.services.services;
 
 import be.pxl.services.domain.dto.Request.ReviewRequest;
+import be.pxl.services.domain.dto.Response.CursorPage;
+import be.pxl.services.domain.dto.Response.PendingReviewResponse;
 import be.pxl.services.domain.dto.Response.ReviewResponse;
 import be.pxl.services.enums.Status;
 
+import java.util.List;
+
 public interface IReviewService {
     ReviewResponse getReviewForPost(Long postId, String role);
     ReviewResponse makeReviewForPost(ReviewRequest reviewRequest, String role);
+    List<ReviewResponse> makeReviewsForPosts(List<ReviewRequest> reviewRequests, String role);
+    CursorPage<PendingReviewResponse> getPendingReviews(String cursor, Integer size);
 }
\ No newline at end of file
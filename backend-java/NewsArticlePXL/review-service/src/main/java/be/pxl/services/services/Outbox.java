@@ -0,0 +1,88 @@
+package be.pxl.services.services;
+
+import be.pxl.services.config.CompactMessageConverter;
+import be.pxl.services.domain.OutboxEvent;
+import be.pxl.services.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Records messages for {@link OutboxRelay} instead of sending them to the broker directly.
+ * Has to be called inside the transaction of the change the message belongs to, so both commit or neither does.
+ * Payloads are encoded here, as JSON or, with messaging.codec=compact, with {@link CompactMessageConverter}
+ * for the message types it knows.
+ */
+@Component
+@RequiredArgsConstructor
+public class Outbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${messaging.codec:json}")
+    private String codec = "json";
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String destination, Object payload) {
+        save(null, destination, null, payload);
+    }
+
+    /**
+     * Publishes to {@code exchange} with the partition key in the {@link OutboxRelay#PARTITION_KEY_HEADER} header,
+     * for exchanges that route on it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueuePartitioned(String exchange, String destination, Object partitionKey, Object payload) {
+        save(exchange, destination, String.valueOf(partitionKey), payload);
+    }
+
+    /**
+     * {@link #enqueue} for many messages at once; outbox_event ids are pooled, so the inserts are JDBC-batched.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(String destination, List<?> payloads) {
+        outboxEventRepository.saveAll(payloads.stream()
+                .map(payload -> toEvent(null, destination, null, payload))
+                .toList());
+    }
+
+    /**
+     * {@link #enqueuePartitioned} for many messages at once, each keyed by {@code partitionKey}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void enqueueAllPartitioned(String exchange, String destination, Function<T, ?> partitionKey, List<T> payloads) {
+        outboxEventRepository.saveAll(payloads.stream()
+                .map(payload -> toEvent(exchange, destination, String.valueOf(partitionKey.apply(payload)), payload))
+                .toList());
+    }
+
+    private void save(String exchange, String destination, String partitionKey, Object payload) {
+        outboxEventRepository.save(toEvent(exchange, destination, partitionKey, payload));
+    }
+
+    private OutboxEvent toEvent(String exchange, String destination, String partitionKey, Object payload) {
+        boolean compact = "compact".equalsIgnoreCase(codec) && CompactMessageConverter.supports(payload);
+        try {
+            return OutboxEvent.builder()
+                    .exchange(exchange)
+                    .destination(destination)
+                    .partitionKey(partitionKey)
+                    .payloadType(payload.getClass().getName())
+                    .contentType(compact ? CompactMessageConverter.CONTENT_TYPE : MessageProperties.CONTENT_TYPE_JSON)
+                    .payload(compact ? CompactMessageConverter.encode(payload) : objectMapper.writeValueAsBytes(payload))
+                    .createdAt(LocalDateTime.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize message for " + destination, e);
+        }
+    }
+}
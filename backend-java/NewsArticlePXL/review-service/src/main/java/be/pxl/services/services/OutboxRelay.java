@@ -0,0 +1,111 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.OutboxEvent;
+import be.pxl.services.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drains the outbox table to RabbitMQ.
+ * Each batch is published on one channel and confirmed as a whole before its rows are deleted in the same
+ * transaction, so a broker failure leaves the events in place for the next run: delivery is at-least-once.
+ * Every message carries a message id derived from its outbox row, so a republished event keeps the id of the
+ * first attempt and consumers can recognise it as a duplicate.
+ * Batches are relayed by one replica at a time, holding the outbox_relay_lock row until the batch commits, and in
+ * the order the events were written, so the events of one post reach the broker in the order they happened.
+ * Every message also carries that order in {@link #SEQUENCE_HEADER}, so a consumer can tell an older event of a post
+ * that comes back late, e.g. from a retry queue, from a newer one it already applied.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    public static final String PARTITION_KEY_HEADER = "x-partition-key";
+    public static final String SEQUENCE_HEADER = "x-outbox-sequence";
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final String messageIdPrefix;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.confirm-timeout:PT10S}") Duration confirmTimeout,
+                       @Value("${spring.application.name:outbox}") String applicationName) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeout.toMillis();
+        this.messageIdPrefix = applicationName + "-";
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT0.5S}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Outbox relay failed, retrying on the next run", e);
+        }
+    }
+
+    private int relayBatch() {
+        outboxEventRepository.lockRelay();
+        List<OutboxEvent> events = outboxEventRepository.findNextBatch(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        rabbitTemplate.invoke(operations -> {
+            events.forEach(event -> {
+                if (event.getExchange() != null) {
+                    operations.send(event.getExchange(), event.getDestination(), toMessage(event));
+                } else {
+                    operations.send(event.getDestination(), toMessage(event));
+                }
+            });
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+        outboxEventRepository.deleteAllInBatch(events);
+        logger.debug("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(messageIdPrefix + event.getId());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setContentType(event.getContentType());
+        if (event.getRelayOrder() != null) {
+            properties.setHeader(SEQUENCE_HEADER, event.getRelayOrder());
+        }
+        if (event.getPartitionKey() != null) {
+            properties.setHeader(PARTITION_KEY_HEADER, event.getPartitionKey());
+        }
+        // The compact codec carries its own type tag
+        if (MessageProperties.CONTENT_TYPE_JSON.equals(event.getContentType())) {
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getPayloadType());
+        }
+        return new Message(event.getPayload(), properties);
+    }
+}
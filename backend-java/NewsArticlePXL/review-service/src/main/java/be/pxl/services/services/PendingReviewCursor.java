@@ -0,0 +1,34 @@
+package be.pxl.services.services;
+
+import be.pxl.services.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position handed out as {@code nextCursor}: pending reviews are ordered on (submittedAt, postId), ascending.
+ */
+public record PendingReviewCursor(LocalDateTime submittedAt, Long postId) {
+
+    public String encode() {
+        String raw = submittedAt + "|" + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PendingReviewCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length == 2) {
+                return new PendingReviewCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // fall through to the invalid cursor below
+        }
+        throw new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,80 @@
+package be.pxl.services.services;
+
+import be.pxl.services.client.GuardedPostClient;
+import be.pxl.services.domain.PostState;
+import be.pxl.services.domain.dto.Response.PostResponse;
+import be.pxl.services.repository.PostStateRepository;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Looks posts up in {@link PostState}, the copy of every post's author and status that {@link PostStateProjection}
+ * keeps from postQueue, so reviewing a post does not need a call to post-service. Only a post that is not in it
+ * yet, because its event is still on its way or it predates the projection, is fetched from post-service.
+ * Such a post is not stored: its next event, or a replay of post-service's post-status-feed, adds it.
+ * While post-service is down only those misses fail, with a 503 from {@link GuardedPostClient}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(PostDirectory.class);
+    private final PostStateRepository postStateRepository;
+    private final GuardedPostClient postClient;
+
+    public Optional<PostState> find(Long postId, String role) {
+        Optional<PostState> local = postStateRepository.findById(postId);
+        if (local.isPresent()) {
+            return local;
+        }
+
+        logger.info("Post with ID: {} not in the local directory, asking post-service", postId);
+        PostResponse post;
+        try {
+            post = postClient.getPostById(postId, role);
+        } catch (FeignException.NotFound e) {
+            post = null;
+        }
+        if (post == null) {
+            return Optional.empty();
+        }
+        return Optional.of(toState(post));
+    }
+
+    /**
+     * {@link #find} for many posts: one query for the local ones and at most one call to post-service for the rest.
+     * Posts found in neither are missing from the result.
+     */
+    public Map<Long, PostState> findAll(Collection<Long> postIds, String role) {
+        Map<Long, PostState> posts = new HashMap<>();
+        postStateRepository.findAllById(postIds).forEach(state -> posts.put(state.getPostId(), state));
+
+        List<Long> misses = new ArrayList<>();
+        for (Long postId : postIds) {
+            if (!posts.containsKey(postId)) {
+                misses.add(postId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            logger.info("{} posts not in the local directory, asking post-service", misses.size());
+            postClient.getPostsByIds(misses, role).forEach(post -> posts.put(post.getId(), toState(post)));
+        }
+        return posts;
+    }
+
+    private static PostState toState(PostResponse post) {
+        PostState state = new PostState(post.getId());
+        state.setAuthor(post.getAuthor());
+        state.setStatus(post.getStatus());
+        return state;
+    }
+}
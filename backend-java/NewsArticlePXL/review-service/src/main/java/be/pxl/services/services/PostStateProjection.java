@@ -0,0 +1,67 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.PostState;
+import be.pxl.services.domain.dto.Response.PostStatusMessage;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.PostStateRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applies post-service's status events from postQueue to {@link PostState}, so the review backlog can be
+ * served from review-service's own database. Events carry the version of the post after the change, and events
+ * not newer than the last applied one are ignored, so redeliveries and reordering leave the latest state in place
+ * whatever the clocks of post-service's replicas say.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostStateProjection {
+    private static final Logger logger = LoggerFactory.getLogger(PostStateProjection.class);
+    private final PostStateRepository postStateRepository;
+
+    @RabbitListener(id = "postStateListener", queues = "postQueue")
+    @Transactional
+    public void onPostStatus(PostStatusMessage message) {
+        if (message.getId() == null || message.getStatus() == null) {
+            logger.warn("Ignoring post status message without id or status: {}", message);
+            return;
+        }
+        PostState state = postStateRepository.findById(message.getId())
+                .orElseGet(() -> new PostState(message.getId()));
+        if (isStale(state, message)) {
+            logger.debug("Ignoring stale status {} for post {}", message.getStatus(), message.getId());
+            return;
+        }
+
+        LocalDateTime changedAt = message.getChangedAt() != null ? message.getChangedAt() : LocalDateTime.now();
+        if (message.getStatus() == Status.SUBMITTED && state.getStatus() != Status.SUBMITTED) {
+            state.setSubmittedAt(changedAt);
+        }
+        state.setAuthor(message.getAuthor());
+        state.setStatus(message.getStatus());
+        state.setChangedAt(changedAt);
+        if (message.getVersion() != null) {
+            state.setVersion(message.getVersion());
+        }
+        postStateRepository.save(state);
+        logger.info("Post {} is now {}", message.getId(), message.getStatus());
+    }
+
+    private static boolean isStale(PostState state, PostStatusMessage message) {
+        if (message.getVersion() != null) {
+            return state.getVersion() != null && message.getVersion() <= state.getVersion();
+        }
+        // Published before post-service sent versions: older than any versioned state, otherwise only the clocks tell
+        if (state.getVersion() != null) {
+            return true;
+        }
+        return state.getChangedAt() != null
+                && (message.getChangedAt() == null || message.getChangedAt().isBefore(state.getChangedAt()));
+    }
+}
@@ -1,29 +1,53 @@
 package be.pxl.services.services;
 
-import be.pxl.services.client.PostClient;
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.PostState;
 import be.pxl.services.domain.Review;
 import be.pxl.services.domain.dto.Request.ReviewRequest;
+import be.pxl.services.domain.dto.Response.CursorPage;
+import be.pxl.services.domain.dto.Response.PendingReviewResponse;
 import be.pxl.services.domain.dto.Response.ReviewMessage;
 import be.pxl.services.domain.dto.Response.ReviewResponse;
 import be.pxl.services.enums.Status;
 import be.pxl.services.domain.dto.Request.NotificationRequest;
+import be.pxl.services.exceptions.InvalidBatchException;
+import be.pxl.services.repository.PostStateRepository;
 import be.pxl.services.repository.ReviewRepository;
 import jakarta.ws.rs.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewService implements IReviewService {
-    private final PostClient postClient;
-    private final RabbitTemplate rabbitTemplate;
+    private final PostDirectory postDirectory;
+    private final Outbox outbox;
     private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
     private final ReviewRepository reviewRepository;
+    private final PostStateRepository postStateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reviews.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${reviews.page.max-size:200}")
+    private int maxPageSize = 200;
+
+    @Value("${reviews.batch.max-size:100}")
+    private int maxBatchSize = 100;
 
     @Override
     public ReviewResponse getReviewForPost(Long postId, String role) {
@@ -37,66 +61,164 @@ public class ReviewService implements IReviewService {
                 });
     }
 
+    /**
+     * Looks the post up before the transaction starts: a miss in the directory calls post-service, and that call
+     * must not hold a database connection and the review row locks while it waits.
+     */
     @Override
     public ReviewResponse makeReviewForPost(ReviewRequest reviewRequest, String role) {
         Long postId = reviewRequest.getPostId();
         logger.info("Attempting to make or update a review for post with ID: {}", postId);
 
-        if (postClient.getPostById(reviewRequest.getPostId(), role) == null) {
-            logger.error("Post with ID: {} not found", reviewRequest.getPostId());
-            throw new NotFoundException("Post with ID " + reviewRequest.getPostId() + " not found");
+        PostState post = postDirectory.find(postId, role)
+                .orElseThrow(() -> {
+                    logger.error("Post with ID: {} not found", postId);
+                    return new NotFoundException("Post with ID " + postId + " not found");
+                });
+        if (reviewRequest.getPostAuthor() == null) {
+            reviewRequest.setPostAuthor(post.getAuthor());
         }
 
-        Review review = reviewRepository.findByPostId(postId)
-                .map(existingReview -> updateReview(existingReview, reviewRequest))
-                .orElseGet(() -> createNewReview(reviewRequest));
-
-        reviewRepository.save(review);
-        logger.info("Review for post with ID: {} saved successfully", postId);
+        Review review = mapToReview(reviewRequest, LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            reviewRepository.upsert(review);
+            logger.info("Review for post with ID: {} saved successfully", postId);
 
-        sendMessageToQueue(review);
-        sendNotificationToAuthor(review);
+            markReviewed(Map.of(postId, post), List.of(review));
+            sendMessageToQueue(review);
+            sendNotificationToAuthor(review);
+        });
 
         return mapToReviewResponse(review);
     }
 
-    private Review updateReview(Review existingReview, ReviewRequest reviewRequest) {
-        logger.info("Review already exists for post ID: {}. Updating review.", reviewRequest.getPostId());
-        existingReview.setReason(reviewRequest.getReason());
-        existingReview.setPostAuthor(reviewRequest.getPostAuthor());
-        existingReview.setAuthor(reviewRequest.getAuthor());
-        existingReview.setStatus(reviewRequest.getStatus());
-        return existingReview;
+    /**
+     * {@link #makeReviewForPost} for a whole backlog at once: one directory lookup, then one batch of upserts and
+     * one batch of outbox rows, all in one transaction. A single unknown post or duplicate post id rejects the whole batch.
+     */
+    @Override
+    public List<ReviewResponse> makeReviewsForPosts(List<ReviewRequest> reviewRequests, String role) {
+        logger.info("Attempting to make or update a batch of {} reviews", reviewRequests.size());
+        if (reviewRequests.isEmpty() || reviewRequests.size() > maxBatchSize) {
+            logger.error("Invalid batch size: {}", reviewRequests.size());
+            throw new InvalidBatchException("A batch must contain between 1 and " + maxBatchSize + " reviews");
+        }
+        Set<Long> postIds = new HashSet<>();
+        for (ReviewRequest reviewRequest : reviewRequests) {
+            if (reviewRequest.getPostId() == null || !postIds.add(reviewRequest.getPostId())) {
+                throw new InvalidBatchException("Every review in a batch needs a different post ID");
+            }
+        }
+
+        Map<Long, PostState> posts = postDirectory.findAll(postIds, role);
+        List<Long> missing = postIds.stream().filter(postId -> !posts.containsKey(postId)).sorted().toList();
+        if (!missing.isEmpty()) {
+            logger.error("Posts with IDs: {} not found", missing);
+            throw new NotFoundException("Posts with IDs " + missing + " not found");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Review> reviews = reviewRequests.stream()
+                .map(reviewRequest -> {
+                    if (reviewRequest.getPostAuthor() == null) {
+                        reviewRequest.setPostAuthor(posts.get(reviewRequest.getPostId()).getAuthor());
+                    }
+                    return mapToReview(reviewRequest, now);
+                })
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            reviewRepository.upsertAll(reviews);
+            markReviewed(posts, reviews);
+            outbox.enqueueAllPartitioned(RabbitMQConfig.REVIEW_EXCHANGE, "reviewQueue", ReviewMessage::getId,
+                    reviews.stream().map(this::mapToReviewMessage).toList());
+            outbox.enqueueAll("notificationQueue", reviews.stream().map(this::mapToNotificationRequest).toList());
+        });
+        logger.info("Batch of {} reviews saved and queued in outbox", reviews.size());
+
+        return reviews.stream()
+                .map(this::mapToReviewResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PendingReviewResponse> getPendingReviews(String cursor, Integer size) {
+        logger.info("Fetching pending reviews");
+        PendingReviewCursor after = PendingReviewCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<PendingReviewResponse> rows = postStateRepository.findPageByStatus(Status.SUBMITTED,
+                        after == null ? null : after.submittedAt(), after == null ? null : after.postId(),
+                        PageRequest.of(0, pageSize + 1)).stream()
+                .map(this::mapToPendingReviewResponse)
+                .toList();
+
+        List<PendingReviewResponse> page = rows.subList(0, Math.min(pageSize, rows.size()));
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            PendingReviewResponse last = page.get(page.size() - 1);
+            nextCursor = new PendingReviewCursor(last.getSubmittedAt(), last.getPostId()).encode();
+        }
+        return new CursorPage<>(page, nextCursor);
+    }
+
+    // Take the posts off the backlog right away instead of waiting for post-service's status events to come back.
+    // The states were looked up outside the transaction, so they are updated in place rather than saved whole.
+    private void markReviewed(Map<Long, PostState> posts, List<Review> reviews) {
+        Map<Status, List<Long>> postIdsByStatus = reviews.stream()
+                .filter(review -> {
+                    PostState post = posts.get(review.getPostId());
+                    return review.getStatus() != null && !post.isNew() && post.getStatus() == Status.SUBMITTED;
+                })
+                .collect(Collectors.groupingBy(Review::getStatus, Collectors.mapping(Review::getPostId, Collectors.toList())));
+        postIdsByStatus.forEach((status, postIds) -> postStateRepository.markReviewed(postIds, status));
+    }
+
+    private int resolvePageSize(Integer size) {
+        int requested = size == null ? defaultPageSize : size;
+        return Math.max(1, Math.min(requested, maxPageSize));
     }
 
-    private Review createNewReview(ReviewRequest reviewRequest) {
-        logger.info("Creating a new review for post ID: {}.", reviewRequest.getPostId());
+    // As written by the upsert; when the post already had a review, its stored creationDate stays the older one
+    private Review mapToReview(ReviewRequest reviewRequest, LocalDateTime now) {
         return Review.builder()
                 .postId(reviewRequest.getPostId())
                 .reason(reviewRequest.getReason())
                 .postAuthor(reviewRequest.getPostAuthor())
                 .author(reviewRequest.getAuthor())
                 .status(reviewRequest.getStatus())
+                .creationDate(now)
+                .updatedAt(now)
                 .build();
     }
 
     private void sendMessageToQueue(Review review) {
-        ReviewMessage reviewMessage = new ReviewMessage(review.getPostId(), review.getStatus()
-        );
-        rabbitTemplate.convertAndSend("reviewQueue", reviewMessage);
-        logger.info("Review message sent to queue for post ID: {}", review.getPostId());
+        // Hashed on the post id, so post-service applies the reviews of one post in order
+        outbox.enqueuePartitioned(RabbitMQConfig.REVIEW_EXCHANGE, "reviewQueue", review.getPostId(), mapToReviewMessage(review));
+        logger.info("Review message queued in outbox for post ID: {}", review.getPostId());
     }
 
     private void sendNotificationToAuthor(Review review) {
-        NotificationRequest notificationRequest = new NotificationRequest(
+        outbox.enqueue("notificationQueue", mapToNotificationRequest(review));
+        logger.info("Notification queued in outbox for author of post ID: {}", review.getPostId());
+    }
+
+    private ReviewMessage mapToReviewMessage(Review review) {
+        return new ReviewMessage(review.getPostId(), review.getStatus());
+    }
+
+    private NotificationRequest mapToNotificationRequest(Review review) {
+        return new NotificationRequest(
                 review.getStatus() == Status.ACCEPTED
                         ? "Je post (" + review.getPostId() + ") is geaccepteerd"
                         : "Je post (" + review.getPostId() + ") is geweigerd",
                 review.getAuthor(),
                 review.getPostAuthor()
         );
-        postClient.sendNotification(notificationRequest);
-        logger.info("Notification sent to author of post ID: {}", review.getPostId());
+    }
+
+    private PendingReviewResponse mapToPendingReviewResponse(PostState state) {
+        return new PendingReviewResponse(state.getPostId(), state.getAuthor(), state.getSubmittedAt());
     }
 
     private ReviewResponse mapToReviewResponse(Review review) {
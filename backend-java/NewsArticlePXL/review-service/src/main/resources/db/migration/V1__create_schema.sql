@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS review
+(
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    post_id       BIGINT,
+    reason        VARCHAR(255),
+    post_author   VARCHAR(255),
+    author        VARCHAR(255),
+    status        VARCHAR(20),
+    creation_date DATETIME(6),
+    PRIMARY KEY (id)
+);
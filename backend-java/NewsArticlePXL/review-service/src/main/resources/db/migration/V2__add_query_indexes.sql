@@ -0,0 +1,6 @@
+-- A post has at most one review; keep the latest one where ddl-auto let duplicates in
+DELETE FROM review
+WHERE id NOT IN (SELECT latest.id FROM (SELECT MAX(id) AS id FROM review GROUP BY post_id) latest);
+
+-- ReviewRepository.findByPostId
+CREATE UNIQUE INDEX uk_review_post_id ON review (post_id);
@@ -0,0 +1,14 @@
+-- Local copy of each post's author and status, fed by postQueue (see PostStateProjection)
+CREATE TABLE post_state
+(
+    post_id      BIGINT NOT NULL,
+    author       VARCHAR(255),
+    status       VARCHAR(255),
+    submitted_at DATETIME(6),
+    changed_at   DATETIME(6),
+    version      BIGINT,
+    PRIMARY KEY (post_id)
+);
+
+-- PostStateRepository.findPageByStatus: pending reviews, oldest first, by keyset
+CREATE INDEX idx_post_state_status_submitted_at ON post_state (status, submitted_at, post_id);
@@ -0,0 +1,3 @@
+-- Set on every upsert of a review (ReviewRepository.upsert); creation_date keeps the first one
+ALTER TABLE review ADD COLUMN updated_at DATETIME(6);
+UPDATE review SET updated_at = creation_date;
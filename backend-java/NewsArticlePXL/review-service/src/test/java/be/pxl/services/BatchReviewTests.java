@@ -0,0 +1,116 @@
+package be.pxl.services;
+
+import be.pxl.services.client.GuardedPostClient;
+import be.pxl.services.config.RabbitMQConfig;
+import be.pxl.services.domain.PostState;
+import be.pxl.services.domain.Review;
+import be.pxl.services.domain.dto.Request.ReviewRequest;
+import be.pxl.services.domain.dto.Response.PostResponse;
+import be.pxl.services.domain.dto.Response.ReviewMessage;
+import be.pxl.services.domain.dto.Response.ReviewResponse;
+import be.pxl.services.enums.Status;
+import be.pxl.services.exceptions.InvalidBatchException;
+import be.pxl.services.repository.PostStateRepository;
+import be.pxl.services.repository.ReviewRepository;
+import be.pxl.services.services.Outbox;
+import be.pxl.services.services.PostDirectory;
+import be.pxl.services.services.ReviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class BatchReviewTests {
+    private PostStateRepository postStateRepository;
+    private GuardedPostClient postClient;
+    private ReviewRepository reviewRepository;
+    private Outbox outbox;
+    private ReviewService reviewService;
+
+    @BeforeEach
+    void setUp() {
+        postStateRepository = mock(PostStateRepository.class);
+        postClient = mock(GuardedPostClient.class);
+        reviewRepository = mock(ReviewRepository.class);
+        outbox = mock(Outbox.class);
+        reviewService = new ReviewService(new PostDirectory(postStateRepository, postClient), outbox,
+                reviewRepository, postStateRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    private static PostState loaded(Long postId) {
+        PostState state = new PostState(postId);
+        state.setAuthor("Jan");
+        state.setStatus(Status.SUBMITTED);
+        state.setPersisted(true);
+        return state;
+    }
+
+    private static ReviewRequest request(Long postId, Status status) {
+        return new ReviewRequest("Reason " + postId, "Piet", null, postId, status);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReviewBatchWithOneCallPerDependency() {
+        PostState local = loaded(1L);
+        when(postStateRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(local));
+        when(postClient.getPostsByIds(anyList(), eq("redacteur"))).thenReturn(List.of(
+                new PostResponse(2L, "Title", "Content", "Els", Status.SUBMITTED, null),
+                new PostResponse(3L, "Title", "Content", "Els", Status.SUBMITTED, null)));
+
+        List<ReviewResponse> responses = reviewService.makeReviewsForPosts(List.of(
+                request(1L, Status.ACCEPTED), request(2L, Status.REJECTED), request(3L, Status.ACCEPTED)), "redacteur");
+
+        assertThat(responses).extracting(ReviewResponse::getPostId).containsExactly(1L, 2L, 3L);
+        assertThat(responses).extracting(ReviewResponse::getPostAuthor).containsExactly("Jan", "Els", "Els");
+        verify(postClient).getPostsByIds(List.of(2L, 3L), "redacteur");
+        verify(postClient, never()).getPostById(any(), anyString());
+
+        ArgumentCaptor<List<Review>> saved = ArgumentCaptor.forClass(List.class);
+        verify(reviewRepository).upsertAll(saved.capture());
+        verify(reviewRepository, never()).upsert(any(Review.class));
+        assertThat(saved.getValue()).extracting(Review::getPostId, Review::getStatus).containsExactly(
+                tuple(1L, Status.ACCEPTED), tuple(2L, Status.REJECTED), tuple(3L, Status.ACCEPTED));
+        // Posts 2 and 3 are not in the directory yet
+        verify(postStateRepository).markReviewed(List.of(1L), Status.ACCEPTED);
+        verify(postStateRepository, never()).markReviewed(anyList(), eq(Status.REJECTED));
+
+        ArgumentCaptor<List<ReviewMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(outbox).enqueueAllPartitioned(eq(RabbitMQConfig.REVIEW_EXCHANGE), eq("reviewQueue"),
+                any(Function.class), messages.capture());
+        assertThat(messages.getValue()).containsExactly(new ReviewMessage(1L, Status.ACCEPTED),
+                new ReviewMessage(2L, Status.REJECTED), new ReviewMessage(3L, Status.ACCEPTED));
+        verify(outbox).enqueueAll(eq("notificationQueue"), argThat(notifications -> notifications.size() == 3));
+        verify(outbox, never()).enqueuePartitioned(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectDuplicatePostIdsBeforeLookingAnythingUp() {
+        assertThatThrownBy(() -> reviewService.makeReviewsForPosts(List.of(
+                request(1L, Status.ACCEPTED), request(1L, Status.REJECTED)), "redacteur"))
+                .isInstanceOf(InvalidBatchException.class);
+
+        verifyNoInteractions(postStateRepository, postClient, reviewRepository, outbox);
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        assertThatThrownBy(() -> reviewService.makeReviewsForPosts(List.of(), "redacteur"))
+                .isInstanceOf(InvalidBatchException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package be.pxl.services;
+
+import be.pxl.services.client.PooledHttpClient;
+import be.pxl.services.config.FeignTransportConfig;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency (SampleTime reports p0.99) of a post lookup from 32 threads through Feign's default
+ * HttpURLConnection transport against {@link PooledHttpClient}, both talking to a local HTTP/1.1 server that answers
+ * with a typical PostResponse. Run with {@code mvn -pl review-service -Pbenchmark test}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class FeignTransportBenchmark {
+    private static final byte[] POST = ("{\"id\":1234567,\"title\":\"Nieuwe campus geopend\",\"content\":\""
+            + "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(8)
+            + "\",\"author\":\"Jan Janssens\",\"status\":\"SUBMITTED\",\"creationDate\":\"2024-05-01T10:15:30\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+
+    @Param({"default", "pooled"})
+    public String transport;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private CloseableHttpClient httpClient;
+    private Client client;
+    private Request request;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Otherwise Nagle and delayed ACKs add ~40ms to every response of the JDK server, hiding the transports
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        serverThreads = Executors.newFixedThreadPool(64);
+        server.setExecutor(serverThreads);
+        server.createContext("/posts/1234567", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, POST.length);
+            exchange.getResponseBody().write(POST);
+            exchange.close();
+        });
+        server.start();
+
+        if (transport.equals("pooled")) {
+            FeignTransportConfig config = new FeignTransportConfig();
+            httpClient = config.feignHttpClient(config.feignConnectionManager(new SimpleMeterRegistry(), 100, 32, "",
+                    Duration.ofMinutes(5), Duration.ofSeconds(2)), Duration.ofSeconds(15));
+            client = new PooledHttpClient(httpClient, Duration.ofSeconds(1));
+        } else {
+            client = new Client.Default(null, null);
+        }
+        request = Request.create(Request.HttpMethod.GET, "http://localhost:" + server.getAddress().getPort() + "/posts/1234567",
+                Map.of("Role", List.of("redacteur"), "Accept", List.of("application/json")), null, StandardCharsets.UTF_8, null);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public int getPost() throws IOException {
+        try (Response response = client.execute(request, OPTIONS);
+             InputStream body = response.body().asInputStream()) {
+            return body.readAllBytes().length + response.status();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FeignTransportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,167 @@
+package be.pxl.services;
+
+import be.pxl.services.client.CircuitBreaker;
+import be.pxl.services.client.GuardedPostClient;
+import be.pxl.services.client.PostClient;
+import be.pxl.services.domain.dto.Response.PostResponse;
+import be.pxl.services.exceptions.PostServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class GuardedPostClientTests {
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "/posts/1", Map.of(), null,
+            StandardCharsets.UTF_8, null);
+
+    private PostClient postClient;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        postClient = mock(PostClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private GuardedPostClient guardedPostClient(int maxConcurrentCalls) {
+        return new GuardedPostClient(postClient, meterRegistry, Duration.ofMillis(500), Duration.ofSeconds(1),
+                Duration.ofSeconds(3), maxConcurrentCalls, Duration.ofMillis(10), 4, 2, 50, Duration.ofHours(1));
+    }
+
+    private static RetryableException timeout() {
+        return new RetryableException(-1, "Read timed out", Request.HttpMethod.GET,
+                new SocketTimeoutException("Read timed out"), (Long) null, REQUEST);
+    }
+
+    @Test
+    void shouldPassEachMethodItsOwnTimeout() {
+        GuardedPostClient client = guardedPostClient(20);
+        ArgumentCaptor<Request.Options> options = ArgumentCaptor.forClass(Request.Options.class);
+
+        client.getPostById(1L, "redacteur");
+
+        verify(postClient).getPostById(eq(1L), eq("redacteur"), options.capture());
+        assertThat(options.getValue().readTimeoutMillis()).isEqualTo(1000);
+        assertThat(options.getValue().connectTimeoutMillis()).isEqualTo(500);
+        assertThat(meterRegistry.get("reviews.post-client.latency")
+                .tags("method", "getPostById", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOpenCircuitAfterTimeoutsAndFailFastWithoutCallingPostService() {
+        GuardedPostClient client = guardedPostClient(20);
+        when(postClient.getPostById(anyLong(), anyString(), any())).thenThrow(timeout());
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.getPostById(1L, "redacteur"))
+                    .isInstanceOf(PostServiceUnavailableException.class);
+        }
+        assertThatThrownBy(() -> client.getPostById(1L, "redacteur"))
+                .isInstanceOf(PostServiceUnavailableException.class)
+                .hasMessageContaining("circuit open");
+
+        verify(postClient, times(2)).getPostById(anyLong(), anyString(), any());
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("reviews.post-client.latency")
+                .tags("method", "getPostById", "outcome", "timeout").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("reviews.post-client.rejected")
+                .tags("reason", "circuit_open").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCountMissingPostsAsFailures() {
+        GuardedPostClient client = guardedPostClient(20);
+        when(postClient.getPostById(anyLong(), anyString(), any()))
+                .thenThrow(new FeignException.NotFound("Not Found", REQUEST, null, Map.of()));
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> client.getPostById(1L, "redacteur")).isInstanceOf(FeignException.NotFound.class);
+        }
+
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldRejectCallsBeyondTheBulkhead() throws Exception {
+        GuardedPostClient client = guardedPostClient(1);
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(postClient.getPostById(anyLong(), anyString(), any())).thenAnswer(invocation -> {
+            inCall.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new PostResponse();
+        });
+        CompletableFuture<PostResponse> slowCall = CompletableFuture.supplyAsync(() -> client.getPostById(1L, "redacteur"));
+        assertThat(inCall.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> client.getPostById(2L, "redacteur"))
+                .isInstanceOf(PostServiceUnavailableException.class);
+
+        release.countDown();
+        assertThat(slowCall.get(5, TimeUnit.SECONDS)).isNotNull();
+        verify(postClient, times(1)).getPostById(anyLong(), anyString(), any());
+        assertThat(meterRegistry.get("reviews.post-client.rejected")
+                .tags("reason", "bulkhead").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLetOneTrialCallThroughAfterTheOpenDuration() {
+        MutableClock clock = new MutableClock();
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 50, Duration.ofSeconds(10), clock);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-05-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.OutboxEvent;
+import be.pxl.services.repository.OutboxEventRepository;
+import be.pxl.services.services.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTests {
+    private OutboxEventRepository outboxEventRepository;
+    private RabbitOperations channelOperations;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        channelOperations = mock(RabbitOperations.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(channelOperations));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        outboxRelay = new OutboxRelay(outboxEventRepository, rabbitTemplate, transactionTemplate, 10, Duration.ofSeconds(1), "review-service");
+    }
+
+    private static OutboxEvent event(Long id, String exchange, String partitionKey) {
+        return OutboxEvent.builder()
+                .id(id)
+                .exchange(exchange)
+                .destination("reviewQueue")
+                .partitionKey(partitionKey)
+                .payloadType("be.pxl.services.domain.dto.Response.ReviewMessage")
+                .contentType(MessageProperties.CONTENT_TYPE_JSON)
+                .payload("{\"id\":7,\"status\":\"ACCEPTED\"}".getBytes(StandardCharsets.UTF_8))
+                .createdAt(LocalDateTime.now())
+                .relayOrder(id + 100)
+                .build();
+    }
+
+    @Test
+    void shouldPublishPartitionedEventsToTheirExchangeWithPartitionKey() {
+        when(outboxEventRepository.findNextBatch(any(Pageable.class))).thenReturn(List.of(event(1L, "reviewExchange", "7")), List.of());
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+
+        outboxRelay.relay();
+
+        verify(channelOperations).send(eq("reviewExchange"), eq("reviewQueue"), message.capture());
+        assertThat(message.getValue().getMessageProperties().getHeaders())
+                .containsEntry(OutboxRelay.PARTITION_KEY_HEADER, "7")
+                .containsEntry(OutboxRelay.SEQUENCE_HEADER, 101L);
+        assertThat(message.getValue().getMessageProperties().getMessageId()).isEqualTo("review-service-1");
+    }
+
+    @Test
+    void shouldPublishPlainEventsToTheDefaultExchange() {
+        when(outboxEventRepository.findNextBatch(any(Pageable.class))).thenReturn(List.of(event(2L, null, null)), List.of());
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+
+        outboxRelay.relay();
+
+        verify(channelOperations).send(eq("reviewQueue"), message.capture());
+        assertThat(message.getValue().getMessageProperties().getHeaders()).doesNotContainKey(OutboxRelay.PARTITION_KEY_HEADER);
+    }
+}
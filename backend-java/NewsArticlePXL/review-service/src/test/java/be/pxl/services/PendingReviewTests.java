@@ -0,0 +1,157 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.PostState;
+import be.pxl.services.domain.dto.Response.CursorPage;
+import be.pxl.services.domain.dto.Response.PendingReviewResponse;
+import be.pxl.services.domain.dto.Response.PostStatusMessage;
+import be.pxl.services.enums.Status;
+import be.pxl.services.exceptions.InvalidCursorException;
+import be.pxl.services.repository.PostStateRepository;
+import be.pxl.services.repository.ReviewRepository;
+import be.pxl.services.services.Outbox;
+import be.pxl.services.services.PendingReviewCursor;
+import be.pxl.services.services.PostDirectory;
+import be.pxl.services.services.PostStateProjection;
+import be.pxl.services.services.ReviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PendingReviewTests {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    private PostStateRepository postStateRepository;
+    private PostStateProjection projection;
+    private ReviewService reviewService;
+
+    @BeforeEach
+    void setUp() {
+        postStateRepository = mock(PostStateRepository.class);
+        projection = new PostStateProjection(postStateRepository);
+        reviewService = new ReviewService(mock(PostDirectory.class), mock(Outbox.class),
+                mock(ReviewRepository.class), postStateRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    private static PostState state(Long postId, Status status, LocalDateTime submittedAt, LocalDateTime changedAt) {
+        PostState state = new PostState(postId);
+        state.setAuthor("Jan");
+        state.setStatus(status);
+        state.setSubmittedAt(submittedAt);
+        state.setChangedAt(changedAt);
+        return state;
+    }
+
+    private static PostState state(Long postId, Status status, LocalDateTime changedAt, long version) {
+        PostState state = state(postId, status, changedAt, changedAt);
+        state.setVersion(version);
+        return state;
+    }
+
+    @Test
+    void shouldStartPendingReviewWhenPostIsSubmitted() {
+        when(postStateRepository.findById(1L)).thenReturn(Optional.empty());
+        ArgumentCaptor<PostState> saved = ArgumentCaptor.forClass(PostState.class);
+
+        projection.onPostStatus(new PostStatusMessage(1L, "Jan", Status.SUBMITTED, NOW, 1L));
+
+        verify(postStateRepository).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(Status.SUBMITTED);
+        assertThat(saved.getValue().getSubmittedAt()).isEqualTo(NOW);
+        assertThat(saved.getValue().isNew()).isTrue();
+        assertThat(saved.getValue().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldKeepSubmittedTimeWhenOnlyAuthorChanges() {
+        PostState existing = state(1L, Status.SUBMITTED, NOW, 1L);
+        when(postStateRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        projection.onPostStatus(new PostStatusMessage(1L, "Piet", Status.SUBMITTED, NOW.plusMinutes(5), 2L));
+
+        assertThat(existing.getAuthor()).isEqualTo("Piet");
+        assertThat(existing.getSubmittedAt()).isEqualTo(NOW);
+        assertThat(existing.getChangedAt()).isEqualTo(NOW.plusMinutes(5));
+    }
+
+    @Test
+    void shouldIgnoreEventsOlderThanTheLastApplied() {
+        PostState existing = state(1L, Status.PUBLISHED, NOW, 3L);
+        when(postStateRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        // Taken by a replica whose clock runs ahead, but an older version all the same
+        projection.onPostStatus(new PostStatusMessage(1L, "Jan", Status.SUBMITTED, NOW.plusMinutes(5), 2L));
+        projection.onPostStatus(new PostStatusMessage(1L, "Jan", Status.SUBMITTED, NOW.plusMinutes(5), 3L));
+
+        assertThat(existing.getStatus()).isEqualTo(Status.PUBLISHED);
+        verify(postStateRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldApplyANewerVersionTakenByAClockRunningBehind() {
+        PostState existing = state(1L, Status.SUBMITTED, NOW, 1L);
+        when(postStateRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        projection.onPostStatus(new PostStatusMessage(1L, "Jan", Status.PUBLISHED, NOW.minusMinutes(5), 2L));
+
+        assertThat(existing.getStatus()).isEqualTo(Status.PUBLISHED);
+        assertThat(existing.getVersion()).isEqualTo(2L);
+        verify(postStateRepository).save(existing);
+    }
+
+    @Test
+    void shouldNotLetAnUnversionedEventOverwriteAVersionedState() {
+        PostState existing = state(1L, Status.PUBLISHED, NOW, 2L);
+        when(postStateRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        projection.onPostStatus(new PostStatusMessage(1L, "Jan", Status.SUBMITTED, null, null));
+
+        assertThat(existing.getStatus()).isEqualTo(Status.PUBLISHED);
+        verify(postStateRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldPagePendingReviewsOldestFirst() {
+        when(postStateRepository.findPageByStatus(eq(Status.SUBMITTED), eq(null), eq(null), any(Pageable.class)))
+                .thenReturn(List.of(
+                        state(3L, Status.SUBMITTED, NOW, NOW),
+                        state(1L, Status.SUBMITTED, NOW.plusMinutes(1), NOW),
+                        state(2L, Status.SUBMITTED, NOW.plusMinutes(2), NOW)));
+
+        CursorPage<PendingReviewResponse> page = reviewService.getPendingReviews(null, 2);
+
+        assertThat(page.getItems()).extracting(PendingReviewResponse::getPostId).containsExactly(3L, 1L);
+        assertThat(PendingReviewCursor.decode(page.getNextCursor()))
+                .isEqualTo(new PendingReviewCursor(NOW.plusMinutes(1), 1L));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(postStateRepository).findPageByStatus(eq(Status.SUBMITTED), eq(null), eq(null), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldContinueAfterCursorAndRejectGarbage() {
+        String cursor = new PendingReviewCursor(NOW, 3L).encode();
+        when(postStateRepository.findPageByStatus(eq(Status.SUBMITTED), eq(NOW), eq(3L), any(Pageable.class)))
+                .thenReturn(List.of(state(1L, Status.SUBMITTED, NOW.plusMinutes(1), NOW)));
+
+        CursorPage<PendingReviewResponse> page = reviewService.getPendingReviews(cursor, 2);
+
+        assertThat(page.getItems()).extracting(PendingReviewResponse::getPostId).containsExactly(1L);
+        assertThat(page.getNextCursor()).isNull();
+        assertThatThrownBy(() -> reviewService.getPendingReviews("not-a-cursor", 2))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
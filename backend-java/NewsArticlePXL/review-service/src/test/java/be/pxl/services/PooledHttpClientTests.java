@@ -0,0 +1,122 @@
+package be.pxl.services;
+
+import be.pxl.services.client.PooledHttpClient;
+import be.pxl.services.config.FeignTransportConfig;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PooledHttpClientTests {
+    private static final Request.Options OPTIONS = new Request.Options(500, TimeUnit.MILLISECONDS, 500, TimeUnit.MILLISECONDS, true);
+
+    private HttpServer server;
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private SimpleMeterRegistry meterRegistry;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private PooledHttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/posts/1", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            byte[] body = ("{\"id\":1,\"method\":\"" + exchange.getRequestMethod() + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/posts/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        FeignTransportConfig config = new FeignTransportConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        connectionManager = config.feignConnectionManager(meterRegistry, 10, 2, "localhost:8081=5",
+                Duration.ofMinutes(5), Duration.ofSeconds(2));
+        httpClient = config.feignHttpClient(connectionManager, Duration.ofSeconds(15));
+        client = new PooledHttpClient(httpClient, Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    private Request request(Request.HttpMethod method, String path, byte[] body) {
+        Map<String, Collection<String>> headers = body == null
+                ? Map.of("Role", List.of("redacteur"))
+                : Map.of("Content-Type", List.of("application/json"), "Content-Length", List.of(String.valueOf(body.length)));
+        return Request.create(method, "http://localhost:" + server.getAddress().getPort() + path, headers, body,
+                StandardCharsets.UTF_8, null);
+    }
+
+    @Test
+    void shouldReuseOneKeptAliveConnectionForSequentialCalls() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            try (Response response = client.execute(request(Request.HttpMethod.GET, "/posts/1", null), OPTIONS)) {
+                assertThat(response.status()).isEqualTo(200);
+                assertThat(response.headers().get("Content-Type")).containsExactly("application/json");
+                assertThat(new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                        .isEqualTo("{\"id\":1,\"method\":\"GET\"}");
+            }
+        }
+
+        assertThat(connections).hasSize(1);
+        assertThat(meterRegistry.get("reviews.http-client.pool.available").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("reviews.http-client.pool.leased").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldSendBodiesWithoutDuplicatingContentLength() throws Exception {
+        byte[] body = "[1,2]".getBytes(StandardCharsets.UTF_8);
+
+        try (Response response = client.execute(request(Request.HttpMethod.POST, "/posts/1", body), OPTIONS)) {
+            assertThat(response.status()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void shouldTimeOutOnTheCallsReadTimeout() {
+        assertThatThrownBy(() -> client.execute(request(Request.HttpMethod.GET, "/posts/slow", null), OPTIONS))
+                .isInstanceOf(InterruptedIOException.class);
+    }
+
+    @Test
+    void shouldApplyRouteLimitOverrides() {
+        assertThat(connectionManager.getMaxPerRoute(new HttpRoute(new HttpHost("localhost", 8081)))).isEqualTo(5);
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(2);
+        assertThat(connectionManager.getMaxTotal()).isEqualTo(10);
+    }
+}
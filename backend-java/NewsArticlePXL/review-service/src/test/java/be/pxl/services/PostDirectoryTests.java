@@ -0,0 +1,120 @@
+package be.pxl.services;
+
+import be.pxl.services.client.GuardedPostClient;
+import be.pxl.services.domain.PostState;
+import be.pxl.services.domain.Review;
+import be.pxl.services.domain.dto.Request.ReviewRequest;
+import be.pxl.services.domain.dto.Response.PostResponse;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.PostStateRepository;
+import be.pxl.services.repository.ReviewRepository;
+import be.pxl.services.services.Outbox;
+import be.pxl.services.services.PostDirectory;
+import be.pxl.services.services.ReviewService;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class PostDirectoryTests {
+    private PostStateRepository postStateRepository;
+    private GuardedPostClient postClient;
+    private ReviewRepository reviewRepository;
+    private PostDirectory postDirectory;
+    private PlatformTransactionManager transactionManager;
+    private ReviewService reviewService;
+
+    @BeforeEach
+    void setUp() {
+        postStateRepository = mock(PostStateRepository.class);
+        postClient = mock(GuardedPostClient.class);
+        reviewRepository = mock(ReviewRepository.class);
+        postDirectory = new PostDirectory(postStateRepository, postClient);
+        transactionManager = mock(PlatformTransactionManager.class);
+        reviewService = new ReviewService(postDirectory, mock(Outbox.class), reviewRepository, postStateRepository,
+                new TransactionTemplate(transactionManager));
+    }
+
+    private static PostState loaded(Long postId, Status status) {
+        PostState state = new PostState(postId);
+        state.setAuthor("Jan");
+        state.setStatus(status);
+        state.setPersisted(true);
+        return state;
+    }
+
+    @Test
+    void shouldReviewFromTheLocalDirectoryWithoutCallingPostService() {
+        PostState state = loaded(1L, Status.SUBMITTED);
+        when(postStateRepository.findById(1L)).thenReturn(Optional.of(state));
+        ArgumentCaptor<Review> saved = ArgumentCaptor.forClass(Review.class);
+
+        reviewService.makeReviewForPost(new ReviewRequest("Fine", "Piet", null, 1L, Status.ACCEPTED), "redacteur");
+
+        verifyNoInteractions(postClient);
+        verify(reviewRepository).upsert(saved.capture());
+        verify(reviewRepository, never()).findByPostId(any());
+        assertThat(saved.getValue().getPostAuthor()).isEqualTo("Jan");
+        assertThat(saved.getValue().getCreationDate()).isNotNull().isEqualTo(saved.getValue().getUpdatedAt());
+        verify(postStateRepository).markReviewed(List.of(1L), Status.ACCEPTED);
+    }
+
+    @Test
+    void shouldAskPostServiceBeforeTheTransactionStarts() {
+        when(postStateRepository.findById(2L)).thenReturn(Optional.empty());
+        when(postClient.getPostById(2L, "redacteur"))
+                .thenReturn(new PostResponse(2L, "Title", "Content", "Jan", Status.SUBMITTED, null));
+
+        reviewService.makeReviewForPost(new ReviewRequest("Fine", "Piet", null, 2L, Status.ACCEPTED), "redacteur");
+
+        InOrder order = inOrder(postClient, transactionManager, reviewRepository);
+        order.verify(postClient).getPostById(2L, "redacteur");
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(reviewRepository).upsert(any(Review.class));
+        order.verify(transactionManager).commit(any());
+        // Not in the directory yet, so there is no row to take off the backlog
+        verify(postStateRepository, never()).markReviewed(anyList(), any());
+    }
+
+    @Test
+    void shouldFallBackToPostServiceOnAMiss() {
+        when(postStateRepository.findById(2L)).thenReturn(Optional.empty());
+        when(postClient.getPostById(2L, "redacteur"))
+                .thenReturn(new PostResponse(2L, "Title", "Content", "Jan", Status.SUBMITTED, null));
+
+        Optional<PostState> post = postDirectory.find(2L, "redacteur");
+
+        assertThat(post).get().extracting(PostState::getAuthor, PostState::getStatus)
+                .containsExactly("Jan", Status.SUBMITTED);
+        // Left to the projection, which may be writing the same row right now
+        assertThat(post.get().isNew()).isTrue();
+        verify(postStateRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldTreatAPostUnknownToPostServiceAsMissing() {
+        when(postStateRepository.findById(anyLong())).thenReturn(Optional.empty());
+        Request request = Request.create(Request.HttpMethod.GET, "/api/post/3", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(postClient.getPostById(eq(3L), anyString()))
+                .thenThrow(new FeignException.NotFound("Not Found", request, null, Map.of()));
+
+        assertThat(postDirectory.find(3L, "redacteur")).isEmpty();
+    }
+}
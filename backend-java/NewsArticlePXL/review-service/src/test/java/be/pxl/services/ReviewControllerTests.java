@@ -39,7 +39,7 @@ public class ReviewControllerTests {
     private ReviewRepository reviewRepository;
 
     @Container
-    private static final MySQLContainer<?> sqlContainer = new MySQLContainer<>("mysql:5.7.37");
+    private static final MySQLContainer<?> sqlContainer = new MySQLContainer<>("mysql:8.0.36");
 
     @DynamicPropertySource
     static void setDatasourceProperties(DynamicPropertyRegistry registry) {
@@ -5,7 +5,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import static org.mockito.Mockito.mockStatic;
 
-@SpringBootTest
+// The Flyway migrations are written for MySQL, so the embedded database runs in its compatibility mode
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reviewservice;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
 public class ReviewServiceApplicationTests {
     @Test
     void mainMethodShouldRun() {
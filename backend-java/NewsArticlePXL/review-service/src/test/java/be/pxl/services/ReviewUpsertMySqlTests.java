@@ -0,0 +1,101 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.Review;
+import be.pxl.services.enums.Status;
+import be.pxl.services.repository.ReviewRepository;
+import be.pxl.services.repository.ReviewUpsertsImpl;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The upsert uses MySQL's row alias syntax, which H2 does not parse, so it runs against the database it targets
+@Testcontainers
+public class ReviewUpsertMySqlTests {
+
+    @Container
+    private static final MySQLContainer<?> sqlContainer = new MySQLContainer<>("mysql:8.0.36");
+
+    // One connection, so SHOW WARNINGS reports on the statement before it
+    private static SingleConnectionDataSource dataSource;
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure().dataSource(sqlContainer.getJdbcUrl(), sqlContainer.getUsername(), sqlContainer.getPassword())
+                .load().migrate();
+        dataSource = new SingleConnectionDataSource(
+                sqlContainer.getJdbcUrl(), sqlContainer.getUsername(), sqlContainer.getPassword(), true);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.destroy();
+    }
+
+    private void upsert(long postId, String status, LocalDateTime now) {
+        jdbcTemplate.update(ReviewRepository.UPSERT, new MapSqlParameterSource()
+                .addValue("postId", postId)
+                .addValue("reason", "Reason")
+                .addValue("postAuthor", "Jan")
+                .addValue("author", "Piet")
+                .addValue("status", status)
+                .addValue("now", now));
+    }
+
+    @Test
+    void upsertShouldUpdateTheExistingReviewAndKeepItsCreationDate() {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 0);
+        upsert(7, "REJECTED", created);
+        upsert(7, "ACCEPTED", created.plusHours(1));
+
+        List<Map<String, Object>> rows = jdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT status, creation_date, updated_at FROM review WHERE post_id = 7");
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("status")).isEqualTo("ACCEPTED");
+        assertThat(rows.get(0).get("creation_date")).isEqualTo(created);
+        assertThat(rows.get(0).get("updated_at")).isEqualTo(created.plusHours(1));
+    }
+
+    @Test
+    void upsertShouldNotRaiseDeprecationWarnings() {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 0);
+        upsert(10, "REJECTED", created);
+        upsert(10, "ACCEPTED", created.plusHours(1));
+
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForList("SHOW WARNINGS")).isEmpty();
+    }
+
+    @Test
+    void upsertAllShouldInsertNewReviewsAndUpdateExistingOnesInOneBatch() {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 0);
+        upsert(8, "REJECTED", created);
+        ReviewUpsertsImpl upserts = new ReviewUpsertsImpl(jdbcTemplate);
+
+        upserts.upsertAll(List.of(review(8, Status.ACCEPTED, created.plusHours(1)), review(9, Status.REJECTED, created.plusHours(1))));
+
+        List<Map<String, Object>> rows = jdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT post_id, status, creation_date FROM review WHERE post_id IN (8, 9) ORDER BY post_id");
+        assertThat(rows).extracting(row -> row.get("status")).containsExactly("ACCEPTED", "REJECTED");
+        assertThat(rows.get(0).get("creation_date")).isEqualTo(created);
+        assertThat(((Number) rows.get(1).get("post_id")).longValue()).isEqualTo(9L);
+    }
+
+    private static Review review(long postId, Status status, LocalDateTime now) {
+        return Review.builder().postId(postId).reason("Reason").postAuthor("Jan").author("Piet").status(status)
+                .creationDate(now).updatedAt(now).build();
+    }
+}
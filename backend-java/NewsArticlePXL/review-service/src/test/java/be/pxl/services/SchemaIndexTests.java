@@ -0,0 +1,61 @@
+package be.pxl.services;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SchemaIndexTests {
+    private static final String URL = "jdbc:h2:mem:reviewservice;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    private String plan(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            resultSet.next();
+            return resultSet.getString(1).toLowerCase();
+        }
+    }
+
+    @Test
+    void findByPostIdShouldUseUniquePostIdIndex() throws SQLException {
+        assertThat(plan("SELECT id FROM review WHERE post_id = 1"))
+                .contains("uk_review_post_id");
+    }
+
+    @Test
+    void pendingReviewPageShouldUseStatusSubmittedAtIndex() throws SQLException {
+        assertThat(plan("SELECT post_id FROM post_state WHERE status = 'SUBMITTED' "
+                + "AND submitted_at > TIMESTAMP '2024-01-01 00:00:00' ORDER BY submitted_at, post_id LIMIT 51"))
+                .contains("idx_post_state_status_submitted_at");
+    }
+
+    @Test
+    void shouldRejectSecondReviewForSamePost() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO review (post_id, status) VALUES (42, 'ACCEPTED')");
+            assertThatThrownBy(() -> statement.executeUpdate("INSERT INTO review (post_id, status) VALUES (42, 'REJECTED')"))
+                    .isInstanceOf(SQLException.class);
+        }
+    }
+}
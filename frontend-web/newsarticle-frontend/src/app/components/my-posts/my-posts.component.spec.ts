@@ -94,7 +94,7 @@ describe('MyPostsComponent', () => {
 
   it('should display posts when available', () => {
     authServiceSpy.getUser.and.returnValue('testUser');
-    postServiceSpy.getAllPostsByAuthor.and.returnValue(of(mockPosts));
+    postServiceSpy.getAllPostsByAuthor.and.returnValue(of({ items: mockPosts, nextCursor: null }));
     
     component.ngOnInit();
     fixture.detectChanges();
@@ -111,7 +111,7 @@ describe('MyPostsComponent', () => {
 
   it('should display empty message when no posts available', () => {
     authServiceSpy.getUser.and.returnValue('testUser');
-    postServiceSpy.getAllPostsByAuthor.and.returnValue(of([]));
+    postServiceSpy.getAllPostsByAuthor.and.returnValue(of({ items: [], nextCursor: null }));
     
     component.ngOnInit();
     fixture.detectChanges();
@@ -122,7 +122,7 @@ describe('MyPostsComponent', () => {
 
   it('should trigger editPost when edit button is clicked', () => {
     authServiceSpy.getUser.and.returnValue('testUser');
-    postServiceSpy.getAllPostsByAuthor.and.returnValue(of(mockPosts));
+    postServiceSpy.getAllPostsByAuthor.and.returnValue(of({ items: mockPosts, nextCursor: null }));
     component.ngOnInit();
     fixture.detectChanges();
     
@@ -143,7 +143,7 @@ describe('MyPostsComponent', () => {
 
   it('should format date correctly', () => {
     authServiceSpy.getUser.and.returnValue('testUser');
-    postServiceSpy.getAllPostsByAuthor.and.returnValue(of(mockPosts));
+    postServiceSpy.getAllPostsByAuthor.and.returnValue(of({ items: mockPosts, nextCursor: null }));
     
     component.ngOnInit();
     fixture.detectChanges();
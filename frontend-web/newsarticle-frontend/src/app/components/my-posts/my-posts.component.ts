@@ -13,19 +13,31 @@ import { DatePipe } from '@angular/common';
 })
 export class MyPostsComponent implements OnInit {
   myPosts: PostResponse[] = [];
+  nextCursor: string | null = null;
 
   constructor(private postService: PostService, private authService: AuthService, private router: Router) {}
 
   ngOnInit(): void {
     const author = this.authService.getUser();
     if (author) {
-      this.postService.getAllPostsByAuthor(author).subscribe(post => {
-        this.myPosts = post;
-        this.myPosts.reverse();
-      })
+      this.loadPage(author, null);
     }
   }
 
+  loadMore(): void {
+    const author = this.authService.getUser();
+    if (author && this.nextCursor) {
+      this.loadPage(author, this.nextCursor);
+    }
+  }
+
+  private loadPage(author: string, cursor: string | null): void {
+    this.postService.getAllPostsByAuthor(author, cursor).subscribe(page => {
+      this.myPosts = cursor ? [...this.myPosts, ...page.items] : page.items;
+      this.nextCursor = page.nextCursor;
+    })
+  }
+
   createNewPost(): void {
     this.router.navigate(['/myposts/create']);
   }
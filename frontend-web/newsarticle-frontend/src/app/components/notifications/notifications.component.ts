@@ -11,7 +11,7 @@ import { AuthService } from '../../services/auth.service';
 })
 export class NotificationsComponent implements OnInit {
   notifications: NotificationResponse[] = [];
-
+  nextCursor: string | null = null;
 
   constructor(private postService: PostService, private authService: AuthService) {}
 
@@ -22,10 +22,17 @@ export class NotificationsComponent implements OnInit {
     }
   }
 
-  loadNotifications(author: string): void {
-    this.postService.getNotificationsForAuthor(author).subscribe((notifications) => {
-      this.notifications = notifications;
-      this.notifications.reverse();
+  loadNotifications(author: string, cursor: string | null = null): void {
+    this.postService.getNotificationsForAuthor(author, cursor).subscribe((page) => {
+      this.notifications = cursor ? [...this.notifications, ...page.items] : page.items;
+      this.nextCursor = page.nextCursor;
     });
   }
+
+  loadMore(): void {
+    const currentUser = this.authService.getUser();
+    if (currentUser && this.nextCursor) {
+      this.loadNotifications(currentUser, this.nextCursor);
+    }
+  }
 }
\ No newline at end of file
@@ -41,7 +41,7 @@ describe('PostListComponent', () => {
     component = fixture.componentInstance;
     postServiceSpy = TestBed.inject(PostService) as jasmine.SpyObj<PostService>;
 
-    postServiceSpy.getFilteredPosts.and.returnValue(of(mockPosts));
+    postServiceSpy.getFilteredPosts.and.returnValue(of({ items: mockPosts, nextCursor: null }));
     fixture.detectChanges();
   });
 
@@ -66,13 +66,36 @@ describe('PostListComponent', () => {
         component.selectedAuthor,
         component.fromDate ? component.fromDate + 'T00:00:00' : undefined,
         component.toDate ? component.toDate + 'T23:59:59' : undefined,
-        'PUBLISHED'
+        'PUBLISHED',
+        null
       );
-      expect(component.posts).toEqual(mockPosts.reverse());
+      expect(component.posts).toEqual(mockPosts);
       expect(component.filteredPosts).toEqual(mockPosts);
     });
   });
 
+  describe('loadMore', () => {
+    it('should append the next page using the cursor of the previous one', () => {
+      const nextPost: PostResponse = { ...mockPosts[0], id: 3, title: 'Post 3' };
+      postServiceSpy.getFilteredPosts.and.returnValue(of({ items: mockPosts, nextCursor: 'page-2' }));
+      component.fetchPosts();
+      postServiceSpy.getFilteredPosts.and.returnValue(of({ items: [nextPost], nextCursor: null }));
+
+      component.loadMore();
+
+      expect(postServiceSpy.getFilteredPosts).toHaveBeenCalledWith(
+        component.searchQuery,
+        component.selectedAuthor,
+        undefined,
+        undefined,
+        'PUBLISHED',
+        'page-2'
+      );
+      expect(component.posts).toEqual([...mockPosts, nextPost]);
+      expect(component.nextCursor).toBeNull();
+    });
+  });
+
   describe('resetFilters', () => {
     it('should reset all filters and fetch posts', () => {
       spyOn(component, 'fetchPosts');
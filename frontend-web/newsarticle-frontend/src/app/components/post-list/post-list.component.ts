@@ -17,6 +17,7 @@ export class PostListComponent implements OnInit {
   selectedAuthor: string = '';
   fromDate: string | null = null;
   toDate: string | null = null;
+  nextCursor: string | null = null;
 
   constructor(private postService: PostService) {}
 
@@ -25,19 +26,29 @@ export class PostListComponent implements OnInit {
   }
 
   fetchPosts(): void {
+    this.loadPage(null);
+  }
+
+  loadMore(): void {
+    if (this.nextCursor) {
+      this.loadPage(this.nextCursor);
+    }
+  }
+
+  private loadPage(cursor: string | null): void {
     this.postService
       .getFilteredPosts(
       this.searchQuery, 
       this.selectedAuthor, 
       this.fromDate ? this.fromDate + "T00:00:00" : undefined, 
       this.toDate ? this.toDate + "T23:59:59" : undefined,
-      'PUBLISHED'
+      'PUBLISHED',
+      cursor
       )
-      .subscribe((data) => {
-      this.posts = data;
-      console.log("posts:::::", this.posts);
-      this.posts.reverse();
-      this.filteredPosts = data;
+      .subscribe((page) => {
+      this.posts = cursor ? [...this.posts, ...page.items] : page.items;
+      this.filteredPosts = this.posts;
+      this.nextCursor = page.nextCursor;
       });
   }
 
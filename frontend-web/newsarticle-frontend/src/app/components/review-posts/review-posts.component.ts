@@ -12,6 +12,7 @@ import { Router } from '@angular/router';
 })
 export class ReviewPostsComponent implements OnInit {
   submittedPosts: PostResponse[] = [];
+  nextCursor: string | null = null;
 
   constructor(private postService: PostService, 
     private authService: AuthService, 
@@ -21,13 +22,21 @@ export class ReviewPostsComponent implements OnInit {
     this.loadSubmittedPosts();
   }
 
-  loadSubmittedPosts(): void {
+  loadSubmittedPosts(cursor: string | null = null): void {
     const user = this.authService.getUser();
-    this.postService.getPostsByStatus('SUBMITTED').subscribe((posts) => {
-      this.submittedPosts = posts.filter(post => post.author !== user);
+    this.postService.getPostsByStatus('SUBMITTED', cursor).subscribe((page) => {
+      const posts = page.items.filter(post => post.author !== user);
+      this.submittedPosts = cursor ? [...this.submittedPosts, ...posts] : posts;
+      this.nextCursor = page.nextCursor;
     });
   }
 
+  loadMore(): void {
+    if (this.nextCursor) {
+      this.loadSubmittedPosts(this.nextCursor);
+    }
+  }
+
   viewPostDetail(postId: number): void {
     this.router.navigate(['/review', postId]);
   }
@@ -42,8 +42,9 @@ describe('PostService', () => {
         { id: 1, title: 'Test Post', content: 'Content', author: 'Author', status: 'PUBLISHED', creationDate: '2024-01-01' }
       ];
 
-      service.getAllPosts().subscribe(posts => {
-        expect(posts).toEqual(mockPosts);
+      service.getAllPosts().subscribe(page => {
+        expect(page.items).toEqual(mockPosts);
+        expect(page.nextCursor).toBeNull();
       });
 
       const req = httpMock.expectOne(baseUrl);
@@ -52,6 +53,17 @@ describe('PostService', () => {
       req.flush(mockPosts);
     });
 
+    it('should send the cursor and return the next one from the X-Next-Cursor header', () => {
+      service.getAllPosts('page-1').subscribe(page => {
+        expect(page.items).toEqual([]);
+        expect(page.nextCursor).toBe('page-2');
+      });
+
+      const req = httpMock.expectOne(`${baseUrl}?cursor=page-1`);
+      expect(req.request.method).toBe('GET');
+      req.flush([], { headers: { 'X-Next-Cursor': 'page-2' } });
+    });
+
     it('should handle error when API fails', () => {
       service.getAllPosts().subscribe({
         error: (error: HttpErrorResponse) => {
@@ -107,8 +119,8 @@ describe('PostService', () => {
         { id: 1, title: 'Test', content: 'Content', author: author, status: 'PUBLISHED', creationDate: '2024-01-01' }
       ];
 
-      service.getAllPostsByAuthor(author).subscribe(posts => {
-        expect(posts).toEqual(mockPosts);
+      service.getAllPostsByAuthor(author).subscribe(page => {
+        expect(page.items).toEqual(mockPosts);
       });
 
       const req = httpMock.expectOne(`${baseUrl}?author=${author}`);
@@ -230,8 +242,8 @@ describe('PostService', () => {
         { id: 1, title: 'Draft Post', content: 'Content', author: 'Author', status: status, creationDate: '2024-01-01' }
       ];
 
-      service.getPostsByStatus(status).subscribe(posts => {
-        expect(posts).toEqual(mockPosts);
+      service.getPostsByStatus(status).subscribe(page => {
+        expect(page.items).toEqual(mockPosts);
       });
 
       const req = httpMock.expectOne(`${baseUrl}/status/${status}`);
@@ -270,8 +282,8 @@ describe('PostService', () => {
         { message: 'New notification', author: 'Author', postAuthor: 'PostAuthor' }
       ];
 
-      service.getNotificationsForAuthor(author).subscribe(notifications => {
-        expect(notifications).toEqual(mockNotifications);
+      service.getNotificationsForAuthor(author).subscribe(page => {
+        expect(page.items).toEqual(mockNotifications);
       });
 
       const req = httpMock.expectOne(`${baseUrl}/notifications/${author}`);
@@ -282,8 +294,9 @@ describe('PostService', () => {
     it('should handle empty notifications', () => {
       const author = 'testAuthor';
 
-      service.getNotificationsForAuthor(author).subscribe(notifications => {
-        expect(notifications).toEqual([]);
+      service.getNotificationsForAuthor(author).subscribe(page => {
+        expect(page.items).toEqual([]);
+        expect(page.nextCursor).toBeNull();
       });
 
       const req = httpMock.expectOne(`${baseUrl}/notifications/${author}`);
@@ -1,6 +1,6 @@
 import { inject, Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { Observable, map } from 'rxjs';
 import { environment } from '../../environments/environment.development';
 import { AuthService } from './auth.service';
 
@@ -15,15 +15,25 @@ export interface PostResponse {
   id: number;
   title: string;
   content: string;
+  excerpt?: string;
   author: string;
   status: string;
   creationDate: string;
 }
 
+// One page of a list endpoint; pass nextCursor back to fetch the next one, null when this was the last page
+export interface Page<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
 export interface NotificationResponse {
+  id?: number;
   message: string;
   author: string;
   postAuthor: string;
+  creationDate?: string;
+  read?: boolean;
 }
 
 @Injectable({
@@ -41,11 +51,22 @@ export class PostService {
     });
   }
 
-  getAllPosts(): Observable<PostResponse[]> {
-    return this.http.get<PostResponse[]>(`${this.baseUrl}`, {headers: this.getHeaders()});
+  private getPage<T>(url: string, params: HttpParams, cursor?: string | null): Observable<Page<T>> {
+    if (cursor) params = params.set('cursor', cursor);
+    return this.http.get<T[]>(url, { params, headers: this.getHeaders(), observe: 'response' }).pipe(
+      map(response => ({
+        items: response.body ?? [],
+        nextCursor: response.headers.get('X-Next-Cursor')
+      }))
+    );
+  }
+
+  getAllPosts(cursor?: string | null): Observable<Page<PostResponse>> {
+    return this.getPage<PostResponse>(`${this.baseUrl}`, new HttpParams(), cursor);
   }
 
-  getFilteredPosts(content?: string, author?: string, fromDate?: string, toDate?: string, status?: string): Observable<PostResponse[]> {
+  getFilteredPosts(content?: string, author?: string, fromDate?: string, toDate?: string, status?: string,
+                   cursor?: string | null): Observable<Page<PostResponse>> {
     let params = new HttpParams();
     if (content) params = params.set('content', content);
     if (author) params = params.set('author', author);
@@ -53,12 +74,12 @@ export class PostService {
     if (toDate) params = params.set('toDate', toDate);
     if (status) params = params.set('status', status);
 
-    return this.http.get<PostResponse[]>(`${this.baseUrl}`, { params, headers: this.getHeaders() });
+    return this.getPage<PostResponse>(`${this.baseUrl}`, params, cursor);
   }
 
-  getAllPostsByAuthor(author: string): Observable<PostResponse[]> {
+  getAllPostsByAuthor(author: string, cursor?: string | null): Observable<Page<PostResponse>> {
     const params = new HttpParams().set('author', author);
-    return this.http.get<PostResponse[]>(`${this.baseUrl}`, { params, headers: this.getHeaders() });
+    return this.getPage<PostResponse>(`${this.baseUrl}`, params, cursor);
   }
 
   createPost(postRequest: PostRequest): Observable<PostResponse> {
@@ -73,8 +94,8 @@ export class PostService {
     return this.http.get<PostResponse>(`${this.baseUrl}/${postId}`, {headers: this.getHeaders()});
   }
 
-  getPostsByStatus(status: string): Observable<PostResponse[]> {
-    return this.http.get<PostResponse[]>(`${this.baseUrl}/status/${status}`, {headers: this.getHeaders()});
+  getPostsByStatus(status: string, cursor?: string | null): Observable<Page<PostResponse>> {
+    return this.getPage<PostResponse>(`${this.baseUrl}/status/${status}`, new HttpParams(), cursor);
   }
 
   updateStatus(postId: number, status: string): Observable<PostResponse> {
@@ -82,7 +103,7 @@ export class PostService {
     return this.http.patch<PostResponse>(`${this.baseUrl}/${postId}/status`, {}, { params, headers: this.getHeaders() });
   }
 
-  getNotificationsForAuthor(author: string): Observable<NotificationResponse[]> {
-    return this.http.get<NotificationResponse[]>(`${this.baseUrl}/notifications/${author}`, {headers: this.getHeaders()});
+  getNotificationsForAuthor(author: string, cursor?: string | null): Observable<Page<NotificationResponse>> {
+    return this.getPage<NotificationResponse>(`${this.baseUrl}/notifications/${author}`, new HttpParams(), cursor);
   }
 }
\ No newline at end of file